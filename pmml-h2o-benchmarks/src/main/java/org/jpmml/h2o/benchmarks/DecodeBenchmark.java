@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+
+import hex.genmodel.MojoModel;
+import org.dmg.pmml.tree.TreeModel;
+import org.jpmml.converter.Schema;
+import org.jpmml.h2o.Converter;
+import org.jpmml.h2o.ConverterFactory;
+import org.jpmml.h2o.H2OEncoder;
+import org.jpmml.h2o.SharedTreeMojoModelConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+public class DecodeBenchmark extends MojoBenchmark {
+
+	private SharedTreeMojoModelConverter<?> converter = null;
+
+	private Schema schema = null;
+
+
+	@Setup
+	public void setUp() throws IOException {
+		MojoModel mojoModel = loadMojoModel();
+
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory();
+
+		Converter<?> converter = converterFactory.newConverter(mojoModel);
+		if(!(converter instanceof SharedTreeMojoModelConverter)){
+			throw new IllegalArgumentException("MOJO " + this.name + " is not a decision tree model");
+		}
+
+		// The schema is encoded once, so that the benchmark measures decision tree decoding only
+		Schema schema = converter.encodeSchema(new H2OEncoder());
+
+		this.converter = (SharedTreeMojoModelConverter<?>)converter;
+		this.schema = converter.toMojoModelSchema(schema);
+	}
+
+	@Benchmark
+	public List<TreeModel> encodeTreeModels(){
+		return this.converter.encodeTreeModels(this.schema);
+	}
+}
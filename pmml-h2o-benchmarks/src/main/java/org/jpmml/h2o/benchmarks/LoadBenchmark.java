@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import hex.genmodel.MojoModel;
+import org.jpmml.h2o.MojoModelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+public class LoadBenchmark extends MojoBenchmark {
+
+	private byte[] mojo = null;
+
+
+	@Setup
+	public void setUp() throws IOException {
+		this.mojo = loadMojo();
+	}
+
+	@Benchmark
+	public MojoModel readFrom() throws IOException {
+		return MojoModelUtil.readFrom(ByteBuffer.wrap(this.mojo));
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.benchmarks;
+
+import java.io.OutputStream;
+
+import hex.genmodel.MojoModel;
+import org.dmg.pmml.PMML;
+import org.jpmml.h2o.Converter;
+import org.jpmml.h2o.ConverterFactory;
+import org.jpmml.model.JAXBSerializer;
+import org.jpmml.model.metro.MetroJAXBSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+public class MarshalBenchmark extends MojoBenchmark {
+
+	private MojoModel mojoModel = null;
+
+	private PMML pmml = null;
+
+	private JAXBSerializer jaxbSerializer = null;
+
+
+	@Setup
+	public void setUp() throws Exception {
+		this.mojoModel = loadMojoModel();
+
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory();
+
+		Converter<?> converter = converterFactory.newConverter(this.mojoModel);
+
+		this.pmml = converter.encodePMML();
+
+		this.jaxbSerializer = new MetroJAXBSerializer();
+	}
+
+	@Benchmark
+	public void serializePretty() throws Exception {
+		this.jaxbSerializer.serializePretty(this.pmml, OutputStream.nullOutputStream());
+	}
+
+	@Benchmark
+	public void writePMML() throws Exception {
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory();
+
+		Converter<?> converter = converterFactory.newConverter(this.mojoModel);
+
+		// Conversion and marshalling are interleaved, and cannot be measured separately
+		converter.writePMML(OutputStream.nullOutputStream());
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import hex.genmodel.MojoModel;
+import org.jpmml.h2o.MojoModelUtil;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+abstract
+public class MojoBenchmark {
+
+	@Param({"GBMAudit", "GBMIris", "RandomForestAudit", "IsolationForestHousing", "ExtendedIsolationForestHousing", "GLMAudit", "XGBoostAudit", "StackedEnsembleAuditNA"})
+	public String name;
+
+	@Param({"1", "10"})
+	public int scale;
+
+
+	protected byte[] loadMojo() throws IOException {
+		File dir = new File(System.getProperty(MojoBenchmark.PROPERTY_MOJO_DIR, "pmml-h2o/src/test/resources/mojo"));
+
+		byte[] mojo = Files.readAllBytes(new File(dir, this.name + ".zip").toPath());
+
+		if(this.scale > 1){
+			mojo = MojoScaler.scaleTrees(mojo, this.scale);
+		}
+
+		return mojo;
+	}
+
+	protected MojoModel loadMojoModel() throws IOException {
+		byte[] mojo = loadMojo();
+
+		return MojoModelUtil.readFrom(ByteBuffer.wrap(mojo));
+	}
+
+	public static final String PROPERTY_MOJO_DIR = "mojo.dir";
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+public class MojoScaler {
+
+	private MojoScaler(){
+	}
+
+	static
+	public byte[] scaleTrees(byte[] mojo, int factor) throws IOException {
+		Map<String, byte[]> entries = readEntries(mojo);
+
+		// Multiply the number of tree groups in all (sub-)models by duplicating decision tree blobs
+
+		Map<String, byte[]> result = new LinkedHashMap<>();
+
+		for(Map.Entry<String, byte[]> entry : entries.entrySet()){
+			String name = entry.getKey();
+			byte[] value = entry.getValue();
+
+			if(name.endsWith(MojoScaler.MODEL_INI)){
+				String prefix = name.substring(0, name.length() - MojoScaler.MODEL_INI.length());
+
+				String modelIni = new String(value, StandardCharsets.UTF_8);
+
+				Matcher matcher = MojoScaler.N_TREES.matcher(modelIni);
+				if(matcher.find()){
+					int nTrees = Integer.parseInt(matcher.group(2));
+
+					value = (modelIni.substring(0, matcher.start(2)) + (nTrees * factor) + modelIni.substring(matcher.end(2))).getBytes(StandardCharsets.UTF_8);
+
+					for(Map.Entry<String, byte[]> treeEntry : entries.entrySet()){
+						String treeName = treeEntry.getKey();
+
+						if(!treeName.startsWith(prefix)){
+							continue;
+						}
+
+						Matcher treeMatcher = MojoScaler.TREE.matcher(treeName.substring(prefix.length()));
+						if(!treeMatcher.matches()){
+							continue;
+						}
+
+						int classIndex = Integer.parseInt(treeMatcher.group(1));
+						int groupIndex = Integer.parseInt(treeMatcher.group(2));
+						String suffix = treeMatcher.group(3);
+
+						for(int i = 1; i < factor; i++){
+							String scaledTreeName = prefix + String.format("trees/t%02d_%03d%s.bin", classIndex, groupIndex + (i * nTrees), (suffix != null ? suffix : ""));
+
+							result.put(scaledTreeName, treeEntry.getValue());
+						}
+					}
+				}
+			}
+
+			result.put(name, value);
+		}
+
+		return writeEntries(result);
+	}
+
+	static
+	public byte[] scaleDomains(byte[] mojo, int size) throws IOException {
+		Map<String, byte[]> entries = readEntries(mojo);
+
+		// Pad the domains of all categorical features with synthetic levels.
+		// Decision tree blobs stay valid, because the synthetic levels fall outside of all bitset split ranges
+
+		Map<String, byte[]> result = new LinkedHashMap<>(entries);
+
+		for(Map.Entry<String, byte[]> entry : entries.entrySet()){
+			String name = entry.getKey();
+			byte[] value = entry.getValue();
+
+			if(name.endsWith(MojoScaler.MODEL_INI)){
+				String prefix = name.substring(0, name.length() - MojoScaler.MODEL_INI.length());
+
+				String modelIni = new String(value, StandardCharsets.UTF_8);
+
+				int responseIndex = -1;
+
+				Matcher supervisedMatcher = MojoScaler.SUPERVISED.matcher(modelIni);
+				Matcher nColumnsMatcher = MojoScaler.N_COLUMNS.matcher(modelIni);
+
+				if(supervisedMatcher.find() && Boolean.parseBoolean(supervisedMatcher.group(1)) && nColumnsMatcher.find()){
+					responseIndex = Integer.parseInt(nColumnsMatcher.group(1)) - 1;
+				}
+
+				StringBuffer sb = new StringBuffer();
+
+				Matcher matcher = MojoScaler.DOMAIN.matcher(modelIni);
+				while(matcher.find()){
+					int columnIndex = Integer.parseInt(matcher.group(1));
+					int domainSize = Integer.parseInt(matcher.group(2));
+					String domainName = prefix + "domains/" + matcher.group(3);
+
+					if(columnIndex == responseIndex || domainSize >= size){
+						continue;
+					}
+
+					StringBuilder domain = new StringBuilder(new String(entries.get(domainName), StandardCharsets.UTF_8));
+
+					for(int i = domainSize; i < size; i++){
+						domain.append("scaled_").append(i).append('\n');
+					}
+
+					result.put(domainName, domain.toString().getBytes(StandardCharsets.UTF_8));
+
+					matcher.appendReplacement(sb, columnIndex + ": " + size + " " + Matcher.quoteReplacement(matcher.group(3)));
+				}
+				matcher.appendTail(sb);
+
+				result.put(name, sb.toString().getBytes(StandardCharsets.UTF_8));
+			}
+		}
+
+		return writeEntries(result);
+	}
+
+	static
+	private Map<String, byte[]> readEntries(byte[] mojo) throws IOException {
+		Map<String, byte[]> result = new LinkedHashMap<>();
+
+		try(ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(mojo))){
+
+			for(ZipEntry entry = zis.getNextEntry(); entry != null; entry = zis.getNextEntry()){
+
+				if(entry.isDirectory()){
+					continue;
+				}
+
+				result.put(entry.getName(), zis.readAllBytes());
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private byte[] writeEntries(Map<String, byte[]> entries) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try(ZipOutputStream zos = new ZipOutputStream(os)){
+
+			for(Map.Entry<String, byte[]> entry : entries.entrySet()){
+				zos.putNextEntry(new ZipEntry(entry.getKey()));
+				zos.write(entry.getValue());
+				zos.closeEntry();
+			}
+		}
+
+		return os.toByteArray();
+	}
+
+	private static final String MODEL_INI = "model.ini";
+
+	private static final Pattern N_TREES = Pattern.compile("(?m)^(n_trees\\s*=\\s*)(\\d+)\\s*$");
+	private static final Pattern SUPERVISED = Pattern.compile("(?m)^supervised\\s*=\\s*(\\w+)\\s*$");
+	private static final Pattern N_COLUMNS = Pattern.compile("(?m)^n_columns\\s*=\\s*(\\d+)\\s*$");
+	private static final Pattern DOMAIN = Pattern.compile("(?m)^(\\d+):[ \\t]*(\\d+)[ \\t]+(\\S+)[ \\t]*$");
+	private static final Pattern TREE = Pattern.compile("trees/t(\\d+)_(\\d+)(_aux)?\\.bin");
+}
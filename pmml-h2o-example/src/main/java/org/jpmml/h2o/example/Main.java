@@ -20,7 +20,19 @@ package org.jpmml.h2o.example;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.beust.jcommander.DefaultUsageFormatter;
 import com.beust.jcommander.IUsageFormatter;
@@ -31,6 +43,7 @@ import hex.genmodel.MojoModel;
 import org.dmg.pmml.PMML;
 import org.jpmml.h2o.Converter;
 import org.jpmml.h2o.ConverterFactory;
+import org.jpmml.h2o.LoggingConversionListener;
 import org.jpmml.h2o.MojoModelUtil;
 import org.jpmml.model.JAXBSerializer;
 import org.jpmml.model.metro.MetroJAXBSerializer;
@@ -42,7 +55,6 @@ public class Main {
 	@Parameter (
 		names = {"--mojo-input"},
 		description = "MOJO input file",
-		required = true,
 		order = 1
 	)
 	private File input = null;
@@ -50,11 +62,59 @@ public class Main {
 	@Parameter (
 		names = {"--pmml-output"},
 		description = "PMML output file",
-		required = true,
 		order = 2
 	)
 	private File output = null;
 
+	@Parameter (
+		names = {"--mojo-memory-map"},
+		description = "Memory-map the MOJO input file. Decision tree blobs are loaded on demand",
+		order = 3
+	)
+	private boolean memoryMap = false;
+
+	@Parameter (
+		names = {"--pmml-streaming"},
+		description = "Write PMML while decoding decision trees. Decoded decision trees are discarded after writing",
+		order = 4
+	)
+	private boolean streaming = false;
+
+	@Parameter (
+		names = {"--conversion-metrics"},
+		description = "Log conversion stage timings and counters",
+		order = 5
+	)
+	private boolean metrics = false;
+
+	@Parameter (
+		names = {"--mojo-input-dir"},
+		description = "MOJO input directory. Converts all MOJO files (*.zip) in it",
+		order = 6
+	)
+	private File inputDir = null;
+
+	@Parameter (
+		names = {"--mojo-input-manifest"},
+		description = "MOJO input manifest file. Converts all MOJO files listed in it, one path per line",
+		order = 7
+	)
+	private File inputManifest = null;
+
+	@Parameter (
+		names = {"--pmml-output-dir"},
+		description = "PMML output directory",
+		order = 8
+	)
+	private File outputDir = null;
+
+	@Parameter (
+		names = {"--workers"},
+		description = "The number of worker threads in batch mode",
+		order = 9
+	)
+	private int workers = 1;
+
 	@Parameter (
 		names = "--help",
 		description = "Show the list of configuration options and exit",
@@ -75,6 +135,10 @@ public class Main {
 
 		try {
 			commander.parse(args);
+
+			if(!main.help){
+				main.validate();
+			}
 		} catch(ParameterException pe){
 			StringBuilder sb = new StringBuilder();
 
@@ -101,14 +165,64 @@ public class Main {
 		main.run();
 	}
 
+	private void validate(){
+		boolean batch = (this.inputDir != null || this.inputManifest != null);
+
+		if(batch){
+
+			if(this.input != null || this.output != null){
+				throw new ParameterException("Options --mojo-input and --pmml-output cannot be combined with batch mode options");
+			} // End if
+
+			if(this.inputDir != null && this.inputManifest != null){
+				throw new ParameterException("Options --mojo-input-dir and --mojo-input-manifest are mutually exclusive");
+			} // End if
+
+			if(this.outputDir == null){
+				throw new ParameterException("The following option is required: --pmml-output-dir");
+			} // End if
+
+			if(this.workers < 1){
+				throw new ParameterException("Option --workers must be a positive integer");
+			}
+		} else
+
+		{
+			if(this.input == null || this.output == null){
+				throw new ParameterException("The following options are required: --mojo-input, --pmml-output");
+			} // End if
+
+			if(this.outputDir != null){
+				throw new ParameterException("Option --pmml-output-dir requires either --mojo-input-dir or --mojo-input-manifest");
+			}
+		}
+	}
+
 	public void run() throws Exception {
-		MojoModel mojoModel;
+
+		if(this.inputDir != null || this.inputManifest != null){
+			runBatch();
+
+			return;
+		}
+
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory();
+
+		Converter<?> converter;
 
 		try {
 			logger.info("Loading MOJO..");
 
 			long begin = System.currentTimeMillis();
-			mojoModel = MojoModelUtil.readFrom(this.input, false);
+			if(this.memoryMap){
+				converter = MojoModelUtil.mapFrom(this.input, converterFactory);
+			} else
+
+			{
+				MojoModel mojoModel = MojoModelUtil.readFrom(this.input, false);
+
+				converter = converterFactory.newConverter(mojoModel);
+			}
 			long end = System.currentTimeMillis();
 
 			logger.info("Loaded MOJO in {} ms.", (end - begin));
@@ -118,15 +232,34 @@ public class Main {
 			throw e;
 		}
 
+		if(this.metrics){
+			converter.setListener(new LoggingConversionListener());
+		} // End if
+
+		if(this.streaming){
+
+			try(OutputStream os = new FileOutputStream(this.output)){
+				logger.info("Converting and marshalling PMML..");
+
+				long begin = System.currentTimeMillis();
+				converter.writePMML(os);
+				long end = System.currentTimeMillis();
+
+				logger.info("Converted and marshalled PMML in {} ms.", (end - begin));
+			} catch(Exception e){
+				logger.error("Failed to convert and marshal PMML", e);
+
+				throw e;
+			}
+
+			return;
+		}
+
 		PMML pmml;
 
 		try {
 			logger.info("Converting MOJO to PMML..");
 
-			ConverterFactory converterFactory = ConverterFactory.newConverterFactory();
-
-			Converter<?> converter = converterFactory.newConverter(mojoModel);
-
 			long begin = System.currentTimeMillis();
 			pmml = converter.encodePMML();
 			long end = System.currentTimeMillis();
@@ -155,5 +288,235 @@ public class Main {
 		}
 	}
 
+	private void runBatch() throws Exception {
+		List<File> inputs = listInputs();
+
+		if(!this.outputDir.isDirectory() && !this.outputDir.mkdirs()){
+			throw new IOException("Failed to create output directory " + this.outputDir.getAbsolutePath());
+		}
+
+		logger.info("Converting {} MOJO(s) using {} worker(s)..", inputs.size(), this.workers);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(this.workers);
+
+		List<Future<BatchResult>> futures = new ArrayList<>();
+
+		long begin = System.currentTimeMillis();
+
+		try {
+			for(File input : inputs){
+				File output = new File(this.outputDir, toOutputName(input));
+
+				futures.add(executorService.submit(() -> convert(input, output)));
+			}
+
+			int succeeded = 0;
+			int failed = 0;
+
+			long loadTime = 0L;
+			long convertTime = 0L;
+			long marshalTime = 0L;
+
+			List<BatchResult> results = new ArrayList<>();
+
+			for(int i = 0; i < futures.size(); i++){
+				Future<BatchResult> future = futures.get(i);
+
+				BatchResult result;
+
+				try {
+					result = future.get();
+				} catch(ExecutionException ee){
+					result = new BatchResult(inputs.get(i));
+					result.exception = ee.getCause();
+				}
+
+				results.add(result);
+
+				if(result.exception == null){
+					succeeded++;
+
+					loadTime += result.loadTime;
+					convertTime += result.convertTime;
+					marshalTime += result.marshalTime;
+				} else
+
+				{
+					failed++;
+				}
+			}
+
+			long end = System.currentTimeMillis();
+
+			logger.info("Converted {} MOJO(s) in {} ms: {} succeeded, {} failed.", inputs.size(), (end - begin), succeeded, failed);
+			logger.info("Cumulative stage times: loading {} ms, converting {} ms, marshalling {} ms.", loadTime, convertTime, marshalTime);
+
+			if(failed > 0){
+				logger.error("Failed MOJO(s):");
+
+				for(BatchResult result : results){
+
+					if(result.exception != null){
+						logger.error("  {}: {}", result.input.getPath(), result.exception.toString());
+					}
+				}
+
+				throw new IllegalStateException("Failed to convert " + failed + " out of " + inputs.size() + " MOJO(s)");
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private BatchResult convert(File input, File output){
+		BatchResult result = new BatchResult(input);
+
+		try {
+			long begin = System.currentTimeMillis();
+
+			ConverterFactory converterFactory = ConverterFactory.newConverterFactory();
+
+			Converter<?> converter;
+
+			if(this.memoryMap){
+				converter = MojoModelUtil.mapFrom(input, converterFactory);
+			} else
+
+			{
+				MojoModel mojoModel = MojoModelUtil.readFrom(input, false);
+
+				converter = converterFactory.newConverter(mojoModel);
+			}
+
+			long end = System.currentTimeMillis();
+
+			result.loadTime = (end - begin);
+
+			if(this.metrics){
+				converter.setListener(new LoggingConversionListener());
+			}
+
+			try(OutputStream os = new FileOutputStream(output)){
+
+				if(this.streaming){
+					begin = System.currentTimeMillis();
+					converter.writePMML(os);
+					end = System.currentTimeMillis();
+
+					// Conversion and marshalling are interleaved
+					result.convertTime = (end - begin);
+				} else
+
+				{
+					begin = System.currentTimeMillis();
+					PMML pmml = converter.encodePMML();
+					end = System.currentTimeMillis();
+
+					result.convertTime = (end - begin);
+
+					JAXBSerializer jaxbSerializer = new MetroJAXBSerializer();
+
+					begin = System.currentTimeMillis();
+					jaxbSerializer.serializePretty(pmml, os);
+					end = System.currentTimeMillis();
+
+					result.marshalTime = (end - begin);
+				}
+			}
+
+			logger.info("Converted {} to {} (loading {} ms, converting {} ms, marshalling {} ms).", input.getPath(), output.getPath(), result.loadTime, result.convertTime, result.marshalTime);
+		} catch(Exception | Error e){
+			// Errors such as StackOverflowError or OutOfMemoryError fail this MOJO, but not the batch
+			logger.error("Failed to convert " + input.getPath(), e);
+
+			result.exception = e;
+
+			output.delete();
+		}
+
+		return result;
+	}
+
+	private List<File> listInputs() throws IOException {
+		List<File> result = new ArrayList<>();
+
+		if(this.inputDir != null){
+			File[] files = this.inputDir.listFiles((dir, name) -> name.endsWith(".zip"));
+
+			if(files == null){
+				throw new IOException("Failed to list input directory " + this.inputDir.getAbsolutePath());
+			}
+
+			Arrays.sort(files);
+
+			result.addAll(Arrays.asList(files));
+		} else
+
+		{
+			File baseDir = this.inputManifest.getAbsoluteFile().getParentFile();
+
+			List<String> lines = Files.readAllLines(this.inputManifest.toPath(), StandardCharsets.UTF_8);
+
+			for(String line : lines){
+				line = line.trim();
+
+				if(line.isEmpty() || line.startsWith("#")){
+					continue;
+				}
+
+				File file = new File(line);
+
+				// Relative paths are resolved against the manifest file
+				if(!file.isAbsolute()){
+					file = new File(baseDir, line);
+				}
+
+				result.add(file);
+			}
+		}
+
+		Set<String> outputNames = new HashSet<>();
+
+		for(File input : result){
+			String outputName = toOutputName(input);
+
+			if(!outputNames.add(outputName)){
+				throw new IllegalArgumentException("Duplicate PMML output file name " + outputName);
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private String toOutputName(File input){
+		String name = input.getName();
+
+		if(name.endsWith(".zip")){
+			name = name.substring(0, name.length() - ".zip".length());
+		}
+
+		return name + ".pmml";
+	}
+
+	static
+	private class BatchResult {
+
+		private File input = null;
+
+		private long loadTime = 0L;
+
+		private long convertTime = 0L;
+
+		private long marshalTime = 0L;
+
+		private Throwable exception = null;
+
+
+		private BatchResult(File input){
+			this.input = input;
+		}
+	}
+
 	private static final Logger logger = LoggerFactory.getLogger(Main.class);
 }
\ No newline at end of file
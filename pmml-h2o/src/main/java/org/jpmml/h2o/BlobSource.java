@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+// Resolves the decision tree and booster blobs of a MOJO model
+public interface BlobSource {
+
+	ByteBuffer getBuffer(byte[] blob) throws IOException;
+
+	byte[] getBytes(byte[] blob) throws IOException;
+
+	InputStream getInputStream(byte[] blob) throws IOException;
+
+	// Blobs are held in memory by the MOJO model
+	BlobSource HEAP = new BlobSource(){
+
+		@Override
+		public ByteBuffer getBuffer(byte[] blob){
+			return ByteBuffer.wrap(blob);
+		}
+
+		@Override
+		public byte[] getBytes(byte[] blob){
+			return blob;
+		}
+
+		@Override
+		public InputStream getInputStream(byte[] blob){
+			return new ByteArrayInputStream(blob);
+		}
+	};
+}
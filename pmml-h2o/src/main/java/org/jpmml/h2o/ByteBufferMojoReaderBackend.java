@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import hex.genmodel.MojoReaderBackend;
+
+public class ByteBufferMojoReaderBackend implements MojoReaderBackend {
+
+	private ByteBuffer buffer = null;
+
+	private Map<String, Entry> entries = null;
+
+
+	public ByteBufferMojoReaderBackend(byte[] bytes) throws IOException {
+		this(ByteBuffer.wrap(bytes));
+	}
+
+	public ByteBufferMojoReaderBackend(ByteBuffer buffer) throws IOException {
+		buffer = buffer.slice()
+			.order(ByteOrder.LITTLE_ENDIAN);
+
+		setBuffer(buffer);
+		setEntries(readEntries(buffer));
+	}
+
+	@Override
+	public BufferedReader getTextFile(String filename) throws IOException {
+		byte[] bytes = getBinaryFile(filename);
+
+		return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public byte[] getBinaryFile(String filename) throws IOException {
+		Entry entry = getEntry(filename);
+
+		ByteBuffer compressedBuffer = getCompressedBuffer(entry);
+
+		switch(entry.method){
+			case Entry.METHOD_STORED:
+				{
+					byte[] result = new byte[entry.size];
+
+					compressedBuffer.get(result);
+
+					return result;
+				}
+			case Entry.METHOD_DEFLATED:
+				return inflate(compressedBuffer, entry.size);
+			default:
+				throw new IOException("ZIP entry " + filename + " has unsupported compression method " + entry.method);
+		}
+	}
+
+	@Override
+	public boolean exists(String filename){
+		Map<String, Entry> entries = getEntries();
+
+		return entries.containsKey(filename);
+	}
+
+	public ByteBuffer getEntryBuffer(String filename) throws IOException {
+		Entry entry = getEntry(filename);
+
+		ByteBuffer compressedBuffer = getCompressedBuffer(entry);
+
+		switch(entry.method){
+			case Entry.METHOD_STORED:
+				return compressedBuffer.asReadOnlyBuffer();
+			case Entry.METHOD_DEFLATED:
+				return ByteBuffer.wrap(inflate(compressedBuffer, entry.size)).asReadOnlyBuffer();
+			default:
+				throw new IOException("ZIP entry " + filename + " has unsupported compression method " + entry.method);
+		}
+	}
+
+	public InputStream getEntryInputStream(String filename) throws IOException {
+		Entry entry = getEntry(filename);
+
+		ByteBuffer compressedBuffer = getCompressedBuffer(entry);
+
+		switch(entry.method){
+			case Entry.METHOD_STORED:
+				return new ByteBufferInputStream(compressedBuffer);
+			case Entry.METHOD_DEFLATED:
+				{
+					Inflater inflater = new Inflater(true);
+
+					// The entry is inflated incrementally, without materializing it as a byte array
+					return new InflaterInputStream(new ByteBufferInputStream(compressedBuffer), inflater, 64 * 1024){
+
+						@Override
+						public void close() throws IOException {
+
+							try {
+								super.close();
+							} finally {
+								inflater.end();
+							}
+						}
+					};
+				}
+			default:
+				throw new IOException("ZIP entry " + filename + " has unsupported compression method " + entry.method);
+		}
+	}
+
+	private ByteBuffer getCompressedBuffer(Entry entry) throws IOException {
+		ByteBuffer buffer = getBuffer();
+
+		int offset = entry.getDataOffset(buffer);
+
+		return slice(buffer, offset, entry.compressedSize);
+	}
+
+	private Entry getEntry(String filename) throws IOException {
+		Map<String, Entry> entries = getEntries();
+
+		Entry entry = entries.get(filename);
+		if(entry == null){
+			throw new IOException("ZIP entry " + filename + " not found");
+		}
+
+		return entry;
+	}
+
+	public ByteBuffer getBuffer(){
+		return this.buffer;
+	}
+
+	private void setBuffer(ByteBuffer buffer){
+		this.buffer = Objects.requireNonNull(buffer);
+	}
+
+	private Map<String, Entry> getEntries(){
+		return this.entries;
+	}
+
+	private void setEntries(Map<String, Entry> entries){
+		this.entries = Objects.requireNonNull(entries);
+	}
+
+	static
+	private Map<String, Entry> readEntries(ByteBuffer buffer) throws IOException {
+		int endOffset = -1;
+
+		for(int i = buffer.limit() - ZipConstants.END_SIZE, min = Math.max(0, i - 0xFFFF); i >= min; i--){
+
+			if(buffer.getInt(i) == ZipConstants.END_SIGNATURE){
+				endOffset = i;
+
+				break;
+			}
+		}
+
+		if(endOffset < 0){
+			throw new IOException("Not a ZIP archive");
+		}
+
+		long count = buffer.getShort(endOffset + 10) & 0xFFFF;
+		long directoryOffset = buffer.getInt(endOffset + 16) & 0xFFFFFFFFL;
+
+		int locatorOffset = endOffset - ZipConstants.END64_LOCATOR_SIZE;
+
+		// ZIP64 archives keep the real values in a separate end of central directory record
+		if(locatorOffset >= 0 && buffer.getInt(locatorOffset) == ZipConstants.END64_LOCATOR_SIGNATURE){
+			long end64Offset = buffer.getLong(locatorOffset + 8);
+
+			checkRange(buffer, end64Offset, ZipConstants.END64_SIZE, "Invalid ZIP64 end of central directory record");
+
+			if(buffer.getInt((int)end64Offset) != ZipConstants.END64_SIGNATURE){
+				throw new IOException("Invalid ZIP64 end of central directory record");
+			}
+
+			count = buffer.getLong((int)end64Offset + 32);
+			directoryOffset = buffer.getLong((int)end64Offset + 48);
+		}
+
+		checkRange(buffer, directoryOffset, 0, "Invalid ZIP central directory");
+
+		Map<String, Entry> result = new LinkedHashMap<>();
+
+		int offset = (int)directoryOffset;
+
+		for(long i = 0; i < count; i++){
+			checkRange(buffer, offset, ZipConstants.CENTRAL_SIZE, "Invalid ZIP central directory");
+
+			if(buffer.getInt(offset) != ZipConstants.CENTRAL_SIGNATURE){
+				throw new IOException("Invalid ZIP central directory");
+			}
+
+			int method = buffer.getShort(offset + 10) & 0xFFFF;
+			long compressedSize = buffer.getInt(offset + 20) & 0xFFFFFFFFL;
+			long size = buffer.getInt(offset + 24) & 0xFFFFFFFFL;
+			int nameLength = buffer.getShort(offset + 28) & 0xFFFF;
+			int extraLength = buffer.getShort(offset + 30) & 0xFFFF;
+			int commentLength = buffer.getShort(offset + 32) & 0xFFFF;
+			long headerOffset = buffer.getInt(offset + 42) & 0xFFFFFFFFL;
+
+			checkRange(buffer, offset, ZipConstants.CENTRAL_SIZE + nameLength + extraLength + commentLength, "Invalid ZIP central directory");
+
+			byte[] nameBytes = new byte[nameLength];
+
+			slice(buffer, offset + ZipConstants.CENTRAL_SIZE, nameLength).get(nameBytes);
+
+			String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+			// ZIP64 extended information extra field.
+			// Holds 64-bit values for those fields that are maxed out in the central directory file header
+			if(size == 0xFFFFFFFFL || compressedSize == 0xFFFFFFFFL || headerOffset == 0xFFFFFFFFL){
+				int extraOffset = offset + ZipConstants.CENTRAL_SIZE + nameLength;
+				int extraEnd = extraOffset + extraLength;
+
+				while(extraOffset + 4 <= extraEnd){
+					int id = buffer.getShort(extraOffset) & 0xFFFF;
+					int dataSize = buffer.getShort(extraOffset + 2) & 0xFFFF;
+
+					if(id == ZipConstants.ZIP64_EXTRA_ID){
+						int dataOffset = extraOffset + 4;
+						int dataEnd = Math.min(dataOffset + dataSize, extraEnd);
+
+						if(size == 0xFFFFFFFFL && dataOffset + 8 <= dataEnd){
+							size = buffer.getLong(dataOffset);
+
+							dataOffset += 8;
+						} // End if
+
+						if(compressedSize == 0xFFFFFFFFL && dataOffset + 8 <= dataEnd){
+							compressedSize = buffer.getLong(dataOffset);
+
+							dataOffset += 8;
+						} // End if
+
+						if(headerOffset == 0xFFFFFFFFL && dataOffset + 8 <= dataEnd){
+							headerOffset = buffer.getLong(dataOffset);
+
+							dataOffset += 8;
+						}
+
+						break;
+					}
+
+					extraOffset += (4 + dataSize);
+				}
+
+				if(size == 0xFFFFFFFFL || compressedSize == 0xFFFFFFFFL || headerOffset == 0xFFFFFFFFL){
+					throw new IOException("ZIP entry " + name + " has invalid ZIP64 extended information");
+				}
+			}
+
+			checkRange(buffer, headerOffset, compressedSize, "ZIP entry " + name + " lies outside of the ZIP archive");
+
+			// Byte arrays are limited to 2 GB
+			if(size < 0 || size > Integer.MAX_VALUE){
+				throw new IOException("ZIP entry " + name + " is too big");
+			} // End if
+
+			if(!name.endsWith("/")){
+				result.put(name, new Entry(method, (int)headerOffset, (int)compressedSize, (int)size));
+			}
+
+			offset += (ZipConstants.CENTRAL_SIZE + nameLength + extraLength + commentLength);
+		}
+
+		return result;
+	}
+
+	static
+	private byte[] inflate(ByteBuffer buffer, int size) throws IOException {
+		byte[] result = new byte[size];
+
+		Inflater inflater = new Inflater(true);
+
+		try {
+			inflater.setInput(buffer);
+
+			int length = 0;
+
+			while(length < size){
+				int count = inflater.inflate(result, length, size - length);
+
+				if(count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())){
+					break;
+				}
+
+				length += count;
+			}
+
+			if(length != size){
+				throw new IOException("Expected " + size + " bytes, got " + length + " bytes");
+			}
+		} catch(DataFormatException dfe){
+			throw new IOException(dfe);
+		} finally {
+			inflater.end();
+		}
+
+		return result;
+	}
+
+	static
+	private void checkRange(ByteBuffer buffer, long offset, long length, String message) throws IOException {
+
+		if(offset < 0 || length < 0 || offset + length > buffer.limit()){
+			throw new IOException(message);
+		}
+	}
+
+	static
+	ByteBuffer slice(ByteBuffer buffer, int offset, int length){
+		ByteBuffer result = buffer.duplicate();
+
+		result.position(offset);
+		result.limit(offset + length);
+
+		return result.slice();
+	}
+
+	static
+	private class ByteBufferInputStream extends InputStream {
+
+		private ByteBuffer buffer = null;
+
+
+		private ByteBufferInputStream(ByteBuffer buffer){
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read(){
+
+			if(!this.buffer.hasRemaining()){
+				return -1;
+			}
+
+			return (this.buffer.get() & 0xFF);
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length){
+
+			if(length == 0){
+				return 0;
+			} // End if
+
+			if(!this.buffer.hasRemaining()){
+				return -1;
+			}
+
+			length = Math.min(length, this.buffer.remaining());
+
+			this.buffer.get(bytes, offset, length);
+
+			return length;
+		}
+
+		@Override
+		public int available(){
+			return this.buffer.remaining();
+		}
+	}
+
+	static
+	private class Entry {
+
+		private int method;
+
+		private int headerOffset;
+
+		private int compressedSize;
+
+		private int size;
+
+
+		private Entry(int method, int headerOffset, int compressedSize, int size){
+			this.method = method;
+			this.headerOffset = headerOffset;
+			this.compressedSize = compressedSize;
+			this.size = size;
+		}
+
+		public int getDataOffset(ByteBuffer buffer) throws IOException {
+			checkRange(buffer, this.headerOffset, ZipConstants.LOCAL_SIZE, "Invalid ZIP local file header");
+
+			if(buffer.getInt(this.headerOffset) != ZipConstants.LOCAL_SIGNATURE){
+				throw new IOException("Invalid ZIP local file header");
+			}
+
+			int nameLength = buffer.getShort(this.headerOffset + 26) & 0xFFFF;
+			int extraLength = buffer.getShort(this.headerOffset + 28) & 0xFFFF;
+
+			int result = this.headerOffset + ZipConstants.LOCAL_SIZE + nameLength + extraLength;
+
+			checkRange(buffer, result, this.compressedSize, "Invalid ZIP local file header");
+
+			return result;
+		}
+
+		private static final int METHOD_STORED = 0;
+		private static final int METHOD_DEFLATED = 8;
+	}
+
+	private interface ZipConstants {
+
+		int LOCAL_SIGNATURE = 0x04034b50;
+		int LOCAL_SIZE = 30;
+
+		int CENTRAL_SIGNATURE = 0x02014b50;
+		int CENTRAL_SIZE = 46;
+
+		int END_SIGNATURE = 0x06054b50;
+		int END_SIZE = 22;
+
+		int END64_SIGNATURE = 0x06064b50;
+		int END64_SIZE = 56;
+
+		int END64_LOCATOR_SIGNATURE = 0x07064b50;
+		int END64_LOCATOR_SIZE = 20;
+
+		int ZIP64_EXTRA_ID = 0x0001;
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+// Tracks the reachable category indices of categorical features.
+// Features are identified by column index.
+// Forking copies a single root-to-leaf path of a fixed-depth trie, which does not depend on the number of tracked features
+public class CategoryIndexManager {
+
+	private Object[] root = null;
+
+
+	public CategoryIndexManager(){
+		this(new Object[CategoryIndexManager.WIDTH]);
+	}
+
+	private CategoryIndexManager(Object[] root){
+		this.root = root;
+	}
+
+	// Returns null if all category indices are reachable.
+	// The returned bitset must not be modified
+	public BitSet getIndices(int colId){
+		checkColId(colId);
+
+		Object[] node = this.root;
+
+		for(int shift = CategoryIndexManager.ROOT_SHIFT; shift > 0; shift -= CategoryIndexManager.BITS){
+			node = (Object[])node[(colId >>> shift) & CategoryIndexManager.MASK];
+
+			if(node == null){
+				return null;
+			}
+		}
+
+		return (BitSet)node[colId & CategoryIndexManager.MASK];
+	}
+
+	public boolean isReachable(int colId, int index){
+		BitSet indices = getIndices(colId);
+
+		return (indices == null) || indices.get(index);
+	}
+
+	// Takes ownership of the bitset
+	public CategoryIndexManager fork(int colId, BitSet indices){
+
+		if(Objects.equals(getIndices(colId), indices)){
+			return this;
+		}
+
+		Object[] root = this.root.clone();
+
+		Object[] node = root;
+
+		for(int shift = CategoryIndexManager.ROOT_SHIFT; shift > 0; shift -= CategoryIndexManager.BITS){
+			int index = (colId >>> shift) & CategoryIndexManager.MASK;
+
+			Object[] child = (Object[])node[index];
+
+			child = (child != null ? child.clone() : new Object[CategoryIndexManager.WIDTH]);
+
+			node[index] = child;
+
+			node = child;
+		}
+
+		node[colId & CategoryIndexManager.MASK] = indices;
+
+		return new CategoryIndexManager(root);
+	}
+
+	static
+	public BitSet restrict(BitSet indices, BitSet reachableIndices){
+
+		if(reachableIndices != null){
+			indices.and(reachableIndices);
+		}
+
+		return indices;
+	}
+
+	static
+	private void checkColId(int colId){
+
+		if(colId < 0 || colId > 0xFFFF){
+			throw new IllegalArgumentException("Column index " + colId + " is out of range");
+		}
+	}
+
+	// Column indices are unsigned 16-bit integers, which are split into four 4-bit trie levels
+	private static final int BITS = 4;
+	private static final int WIDTH = (1 << BITS);
+	private static final int MASK = (WIDTH - 1);
+	private static final int ROOT_SHIFT = (16 - BITS);
+}
\ No newline at end of file
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProtectionDomain;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import hex.genmodel.MojoModel;
+import jakarta.xml.bind.JAXBException;
+
+public class ConversionCache {
+
+	private File dir = null;
+
+	private long maxSize = 0L;
+
+	private AtomicLong hitCount = new AtomicLong(0L);
+
+	private AtomicLong missCount = new AtomicLong(0L);
+
+	private AtomicLong evictionCount = new AtomicLong(0L);
+
+
+	public ConversionCache(File dir, long maxSize) throws IOException {
+		setDir(dir);
+		setMaxSize(maxSize);
+
+		Files.createDirectories(dir.toPath());
+	}
+
+	public void writePMML(File mojoFile, Map<String, ?> options, OutputStream os) throws IOException, JAXBException {
+		byte[] mojo = Files.readAllBytes(mojoFile.toPath());
+
+		writePMML(mojo, options, os);
+	}
+
+	public void writePMML(byte[] mojo, Map<String, ?> options, OutputStream os) throws IOException, JAXBException {
+		File dir = getDir();
+
+		// Options are validated and normalized before they are keyed
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory(options);
+
+		String key = computeKey(mojo, converterFactory.getOptions());
+
+		File file = new File(dir, key + ConversionCache.EXTENSION);
+
+		// An open entry remains readable, even if it is evicted by another thread
+		try(InputStream is = Files.newInputStream(file.toPath())){
+			this.hitCount.incrementAndGet();
+
+			// Least recently used entries have the oldest modification time
+			file.setLastModified(System.currentTimeMillis());
+
+			is.transferTo(os);
+
+			return;
+		} catch(NoSuchFileException nsfe){
+			// Ignored
+		}
+
+		this.missCount.incrementAndGet();
+
+		MojoModel mojoModel = MojoModelUtil.readFrom(ByteBuffer.wrap(mojo));
+
+		Converter<?> converter = converterFactory.newConverter(mojoModel);
+
+		// Temporary files are not visible to eviction, and are published with an atomic move after they have been fully written
+		File tmpFile = File.createTempFile(key, ".tmp", dir);
+
+		try {
+			try(OutputStream tmpOs = Files.newOutputStream(tmpFile.toPath())){
+				converter.writePMML(tmpOs);
+			}
+
+			Files.copy(tmpFile.toPath(), os);
+
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			tmpFile.delete();
+		}
+
+		evict(file);
+	}
+
+	public long getHitCount(){
+		return this.hitCount.get();
+	}
+
+	public long getMissCount(){
+		return this.missCount.get();
+	}
+
+	public long getEvictionCount(){
+		return this.evictionCount.get();
+	}
+
+	synchronized
+	private void evict(File retainedFile){
+		File dir = getDir();
+		long maxSize = getMaxSize();
+
+		File[] files = dir.listFiles((parentDir, name) -> name.endsWith(ConversionCache.EXTENSION));
+		if(files == null){
+			return;
+		}
+
+		long size = 0L;
+
+		for(File file : files){
+			size += file.length();
+		}
+
+		if(size <= maxSize){
+			return;
+		}
+
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+
+		for(File file : files){
+
+			if(size <= maxSize){
+				break;
+			} // End if
+
+			// The most recent entry is kept, even if it exceeds the size bound alone
+			if(file.equals(retainedFile)){
+				continue;
+			}
+
+			long length = file.length();
+
+			if(file.delete()){
+				this.evictionCount.incrementAndGet();
+
+				size -= length;
+			}
+		}
+	}
+
+	public File getDir(){
+		return this.dir;
+	}
+
+	private void setDir(File dir){
+		this.dir = Objects.requireNonNull(dir);
+	}
+
+	public long getMaxSize(){
+		return this.maxSize;
+	}
+
+	private void setMaxSize(long maxSize){
+
+		if(maxSize < 0L){
+			throw new IllegalArgumentException();
+		}
+
+		this.maxSize = maxSize;
+	}
+
+	static
+	private String computeKey(byte[] mojo, Map<String, ?> options){
+		MessageDigest messageDigest;
+
+		try {
+			messageDigest = MessageDigest.getInstance("SHA-256");
+		} catch(NoSuchAlgorithmException nsae){
+			throw new RuntimeException(nsae);
+		}
+
+		messageDigest.update(mojo);
+
+		String version = getVersion();
+
+		messageDigest.update(version.getBytes(StandardCharsets.UTF_8));
+
+		// Sorted by name
+		Map<String, ?> sortedOptions = new TreeMap<>(options);
+
+		// Options that do not affect the content of PMML documents
+		(sortedOptions.keySet()).removeAll(ConversionCache.TRANSIENT_OPTIONS);
+
+		messageDigest.update(sortedOptions.toString().getBytes(StandardCharsets.UTF_8));
+
+		return toHexString(messageDigest.digest());
+	}
+
+	static
+	private String getVersion(){
+		String version = ConversionCache.version;
+
+		if(version == null){
+			version = computeVersion();
+
+			ConversionCache.version = version;
+		}
+
+		return version;
+	}
+
+	// The version identifies the build of the converter.
+	// SNAPSHOT builds share their implementation version, so the class files are digested as well
+	static
+	private String computeVersion(){
+		Package _package = ConversionCache.class.getPackage();
+
+		String version = _package.getImplementationVersion();
+
+		MessageDigest messageDigest;
+
+		try {
+			messageDigest = MessageDigest.getInstance("SHA-256");
+		} catch(NoSuchAlgorithmException nsae){
+			throw new RuntimeException(nsae);
+		}
+
+		messageDigest.update(String.valueOf(version).getBytes(StandardCharsets.UTF_8));
+
+		ProtectionDomain protectionDomain = ConversionCache.class.getProtectionDomain();
+
+		CodeSource codeSource = protectionDomain.getCodeSource();
+		if(codeSource == null){
+			throw new IllegalStateException("Failed to locate the converter build");
+		}
+
+		try {
+			Path path = Paths.get((codeSource.getLocation()).toURI());
+
+			List<Path> files;
+
+			if(Files.isDirectory(path)){
+
+				try(Stream<Path> stream = Files.walk(path)){
+					files = stream
+						.filter(Files::isRegularFile)
+						.sorted()
+						.collect(Collectors.toList());
+				}
+			} else
+
+			{
+				files = Collections.singletonList(path);
+			}
+
+			for(Path file : files){
+				messageDigest.update((path.relativize(file).toString()).getBytes(StandardCharsets.UTF_8));
+
+				// Streamed, because a shaded JAR file may be large
+				try(InputStream is = new DigestInputStream(Files.newInputStream(file), messageDigest)){
+					is.transferTo(OutputStream.nullOutputStream());
+				}
+			}
+		} catch(IOException | URISyntaxException e){
+			throw new IllegalStateException("Failed to digest the converter build", e);
+		}
+
+		return toHexString(messageDigest.digest());
+	}
+
+	static
+	private String toHexString(byte[] digest){
+		StringBuilder sb = new StringBuilder(digest.length * 2);
+
+		for(byte b : digest){
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+
+		return sb.toString();
+	}
+
+	private static volatile String version = null;
+
+	private static final Set<String> TRANSIENT_OPTIONS = Collections.singleton(HasH2OOptions.OPTION_PARALLELISM);
+
+	private static final String EXTENSION = ".pmml";
+}
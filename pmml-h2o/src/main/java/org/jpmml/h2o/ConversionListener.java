@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+public interface ConversionListener {
+
+	// Listener methods may be invoked from multiple threads at the same time
+
+	default
+	void stageCompleted(Stage stage, long nanos){
+	}
+
+	default
+	void countIncremented(Counter counter, long delta){
+	}
+
+	default
+	void conversionCompleted(){
+	}
+
+	enum Stage {
+		ENCODE_SCHEMA,
+		TO_MOJO_MODEL_SCHEMA,
+		ENCODE_MODEL,
+		ENCODE_PMML,
+		WRITE_PMML,
+		;
+	}
+
+	enum Counter {
+		TREES_DECODED,
+		NODES_EMITTED,
+		NODES_REMOVED,
+		SPLITS_ELIMINATED,
+		PREDICATES_CREATED,
+		PREDICATES_REUSED,
+		DERIVED_FIELDS_CREATED,
+		DERIVED_FIELDS_REUSED,
+		COMPRESSED_TREE_BYTES,
+		;
+	}
+
+	ConversionListener NONE = new ConversionListener(){
+	};
+}
@@ -18,21 +18,34 @@
  */
 package org.jpmml.h2o;
 
+import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 
 import hex.genmodel.MojoModel;
 import hex.genmodel.descriptor.ModelDescriptor;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
 import org.dmg.pmml.DataField;
 import org.dmg.pmml.Model;
 import org.dmg.pmml.PMML;
 import org.jpmml.converter.Schema;
+import org.jpmml.model.JAXBUtil;
 
 abstract
 public class Converter<M extends MojoModel> {
 
 	private M model = null;
 
+	private Map<String, ?> options = Collections.emptyMap();
+
+	private ConversionListener listener = ConversionListener.NONE;
+
+	private BlobSource blobSource = BlobSource.HEAP;
+
 
 	public Converter(M model){
 		setModel(model);
@@ -74,17 +87,69 @@ public class Converter<M extends MojoModel> {
 	}
 
 	public PMML encodePMML(){
+		H2OEncoder encoder = new H2OEncoder();
+
+		return encodePMML(encoder);
+	}
+
+	public PMML encodePMML(H2OEncoder encoder){
+		ConversionListener listener = getListener();
+
+		PMML pmml = encodePMML(encoder, listener);
+
+		listener.conversionCompleted();
+
+		return pmml;
+	}
+
+	public void writePMML(OutputStream os) throws JAXBException {
+		ConversionListener listener = getListener();
+
+		H2OEncoder encoder = new H2OEncoder();
+		encoder.setStreaming(true);
+
+		PMML pmml = encodePMML(encoder, listener);
+
+		// Decision trees are decoded one at a time as the marshaller reaches them
+		JAXBContext context = JAXBUtil.getContext();
+
+		Marshaller marshaller = context.createMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+		marshaller.setListener(new DeferredNodeListener(encoder.getDeferredNodes()));
+
+		long begin = System.nanoTime();
+		marshaller.marshal(pmml, os);
+		long end = System.nanoTime();
+
+		listener.stageCompleted(ConversionListener.Stage.WRITE_PMML, (end - begin));
+
+		listener.conversionCompleted();
+	}
+
+	private PMML encodePMML(H2OEncoder encoder, ConversionListener listener){
 		M model = getModel();
 
 		ModelDescriptor modelDescriptor = model._modelDescriptor;
 
-		H2OEncoder encoder = new H2OEncoder();
+		encoder.setListener(listener);
 
+		long begin = System.nanoTime();
 		Schema schema = encodeSchema(encoder);
+		long end = System.nanoTime();
 
+		listener.stageCompleted(ConversionListener.Stage.ENCODE_SCHEMA, (end - begin));
+
+		begin = System.nanoTime();
 		schema = toMojoModelSchema(schema);
+		end = System.nanoTime();
+
+		listener.stageCompleted(ConversionListener.Stage.TO_MOJO_MODEL_SCHEMA, (end - begin));
 
+		begin = System.nanoTime();
 		Model pmmlModel = encodeModel(schema);
+		end = System.nanoTime();
+
+		listener.stageCompleted(ConversionListener.Stage.ENCODE_MODEL, (end - begin));
 
 		if(modelDescriptor != null){
 			String algorithmName = pmmlModel.getAlgorithmName();
@@ -96,7 +161,13 @@ public class Converter<M extends MojoModel> {
 			}
 		}
 
-		return encoder.encodePMML(pmmlModel);
+		begin = System.nanoTime();
+		PMML pmml = encoder.encodePMML(pmmlModel);
+		end = System.nanoTime();
+
+		listener.stageCompleted(ConversionListener.Stage.ENCODE_PMML, (end - begin));
+
+		return pmml;
 	}
 
 	public M getModel(){
@@ -107,6 +178,43 @@ public class Converter<M extends MojoModel> {
 		this.model = Objects.requireNonNull(model);
 	}
 
+	public ConversionListener getListener(){
+		return this.listener;
+	}
+
+	public void setListener(ConversionListener listener){
+		this.listener = Objects.requireNonNull(listener);
+	}
+
+	public BlobSource getBlobSource(){
+		return this.blobSource;
+	}
+
+	void setBlobSource(BlobSource blobSource){
+		this.blobSource = Objects.requireNonNull(blobSource);
+	}
+
+	public Map<String, ?> getOptions(){
+		return this.options;
+	}
+
+	public void setOptions(Map<String, ?> options){
+		this.options = Objects.requireNonNull(options);
+	}
+
+	public <V> V getOption(String name, V defaultValue){
+		Map<String, ?> options = getOptions();
+
+		if(options.containsKey(name)){
+			@SuppressWarnings("unchecked")
+			V value = (V)options.get(name);
+
+			return value;
+		}
+
+		return defaultValue;
+	}
+
 	static
 	protected Class<?> getDeclaredClass(Class<?> clazz, String name) throws ReflectiveOperationException {
 		String subclassName = clazz.getName() + "$" + name;
@@ -18,6 +18,11 @@
  */
 package org.jpmml.h2o;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
 import hex.genmodel.MojoModel;
 import hex.genmodel.algos.drf.DrfMojoModel;
 import hex.genmodel.algos.ensemble.StackedEnsembleMojoModel;
@@ -31,10 +36,31 @@ import org.jpmml.converter.ExceptionUtil;
 
 public class ConverterFactory {
 
+	private Map<String, ?> options = null;
+
+
 	protected ConverterFactory(){
+		this(Collections.emptyMap());
+	}
+
+	protected ConverterFactory(Map<String, ?> options){
+		setOptions(parseOptions(options));
 	}
 
 	public Converter<? extends MojoModel> newConverter(MojoModel model){
+		return newConverter(model, BlobSource.HEAP);
+	}
+
+	public Converter<? extends MojoModel> newConverter(MojoModel model, BlobSource blobSource){
+		Converter<? extends MojoModel> converter = createConverter(model);
+
+		converter.setOptions(getOptions());
+		converter.setBlobSource(blobSource);
+
+		return converter;
+	}
+
+	protected Converter<? extends MojoModel> createConverter(MojoModel model){
 
 		if(model instanceof DrfMojoModel){
 			return new DrfMojoModelConverter((DrfMojoModel)model);
@@ -75,8 +101,115 @@ public class ConverterFactory {
 		throw new H2OException("MOJO model " + ExceptionUtil.formatClass(model.getClass()) + " is not supported");
 	}
 
+	public Map<String, ?> getOptions(){
+		return this.options;
+	}
+
+	private Map<String, ?> parseOptions(Map<String, ?> options){
+		Map<String, Object> result = new LinkedHashMap<>();
+
+		for(Map.Entry<String, ?> entry : options.entrySet()){
+			String name = entry.getKey();
+			Object value = entry.getValue();
+
+			if(value == null){
+				throw new IllegalArgumentException("Option " + ExceptionUtil.formatParameter(name) + " does not have a value");
+			}
+
+			result.put(name, parseOption(name, value));
+		}
+
+		return Collections.unmodifiableMap(result);
+	}
+
+	// Converts the value to the type that converters expect, or throws an IllegalArgumentException if the option is not supported
+	protected Object parseOption(String name, Object value){
+
+		switch(name){
+			case HasH2OOptions.OPTION_COMPACT:
+			case HasH2OOptions.OPTION_PRESCALE:
+			case HasH2OOptions.OPTION_PRUNE:
+				return parseBoolean(name, value);
+			case HasH2OOptions.OPTION_PARALLELISM:
+				return parsePositiveInteger(name, value);
+			default:
+				break;
+		}
+
+		// Validated by the XGBoost converter
+		if(name.startsWith(HasH2OOptions.OPTION_XGBOOST_PREFIX)){
+			return value;
+		}
+
+		throw new IllegalArgumentException("Option " + ExceptionUtil.formatParameter(name) + " is not supported");
+	}
+
+	static
+	protected Boolean parseBoolean(String name, Object value){
+
+		if(value instanceof Boolean){
+			return (Boolean)value;
+		} else
+
+		if(value instanceof String){
+			String string = (String)value;
+
+			if(("true").equalsIgnoreCase(string)){
+				return Boolean.TRUE;
+			} else
+
+			if(("false").equalsIgnoreCase(string)){
+				return Boolean.FALSE;
+			}
+		}
+
+		throw new IllegalArgumentException("Expected boolean value for option " + ExceptionUtil.formatParameter(name) + ", got " + ExceptionUtil.formatValue(value));
+	}
+
+	static
+	protected Integer parsePositiveInteger(String name, Object value){
+		Integer result = null;
+
+		if(value instanceof Integer){
+			result = (Integer)value;
+		} else
+
+		if(value instanceof Long || value instanceof Short || value instanceof Byte){
+			Number number = (Number)value;
+
+			if(number.longValue() == number.intValue()){
+				result = number.intValue();
+			}
+		} else
+
+		if(value instanceof String){
+			String string = (String)value;
+
+			try {
+				result = Integer.valueOf(string.trim());
+			} catch(NumberFormatException nfe){
+				// Ignored
+			}
+		} // End if
+
+		if(result == null || result < 1){
+			throw new IllegalArgumentException("Expected positive integer value for option " + ExceptionUtil.formatParameter(name) + ", got " + ExceptionUtil.formatValue(value));
+		}
+
+		return result;
+	}
+
+	private void setOptions(Map<String, ?> options){
+		this.options = Objects.requireNonNull(options);
+	}
+
 	static
 	public ConverterFactory newConverterFactory(){
-		return new ConverterFactory();
+		return newConverterFactory(Collections.emptyMap());
+	}
+
+	static
+	public ConverterFactory newConverterFactory(Map<String, ?> options){
+		return new ConverterFactory(options);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import jakarta.xml.bind.Marshaller;
+import org.dmg.pmml.tree.Node;
+import org.dmg.pmml.tree.TreeModel;
+
+public class DeferredNodeListener extends Marshaller.Listener {
+
+	private Map<TreeModel, Supplier<Node>> deferredNodes = null;
+
+	private Map<TreeModel, Node> placeholderNodes = new IdentityHashMap<>();
+
+
+	public DeferredNodeListener(Map<TreeModel, Supplier<Node>> deferredNodes){
+		setDeferredNodes(deferredNodes);
+	}
+
+	@Override
+	public void beforeMarshal(Object source){
+
+		if(source instanceof TreeModel){
+			TreeModel treeModel = (TreeModel)source;
+
+			Map<TreeModel, Supplier<Node>> deferredNodes = getDeferredNodes();
+
+			Supplier<Node> supplier = deferredNodes.get(treeModel);
+			if(supplier != null){
+				this.placeholderNodes.put(treeModel, treeModel.getNode());
+
+				treeModel.setNode(supplier.get());
+			}
+		}
+	}
+
+	@Override
+	public void afterMarshal(Object source){
+
+		if(source instanceof TreeModel){
+			TreeModel treeModel = (TreeModel)source;
+
+			Node node = this.placeholderNodes.remove(treeModel);
+			if(node != null){
+				// Release the decoded node graph
+				treeModel.setNode(node);
+			}
+		}
+	}
+
+	public Map<TreeModel, Supplier<Node>> getDeferredNodes(){
+		return this.deferredNodes;
+	}
+
+	private void setDeferredNodes(Map<TreeModel, Supplier<Node>> deferredNodes){
+		this.deferredNodes = Objects.requireNonNull(deferredNodes);
+	}
+}
@@ -18,7 +18,6 @@
  */
 package org.jpmml.h2o;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -106,17 +105,8 @@ public class DrfMojoModelConverter extends SharedTreeMojoModelConverter<DrfMojoM
 
 	static
 	public boolean getBinomialDoubleTrees(DrfMojoModel model){
-		return (boolean)getFieldValue(FIELD_BOOLEANDOUBLETREES, model);
+		return FIELD_BOOLEANDOUBLETREES.getBoolean(model);
 	}
 
-	private static final Field FIELD_BOOLEANDOUBLETREES;
-
-	static {
-
-		try {
-			FIELD_BOOLEANDOUBLETREES = DrfMojoModel.class.getDeclaredField("_binomial_double_trees");
-		} catch(ReflectiveOperationException roe){
-			throw new RuntimeException(roe);
-		}
-	}
+	private static final FieldAccessor FIELD_BOOLEANDOUBLETREES = new FieldAccessor(DrfMojoModel.class, "_binomial_double_trees");
 }
\ No newline at end of file
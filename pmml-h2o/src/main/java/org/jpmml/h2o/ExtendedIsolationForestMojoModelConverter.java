@@ -18,11 +18,9 @@
  */
 package org.jpmml.h2o;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import com.google.common.collect.Iterables;
 import hex.genmodel.algos.isoforextended.ExtendedIsolationForestMojoModel;
@@ -72,7 +70,42 @@ public class ExtendedIsolationForestMojoModelConverter extends Converter<Extende
 
 		long sampleSize = getSampleSize(model);
 
-		List<TreeModel> treeModels = encodeTreeModels(schema);
+		Boolean prescale = getOption(HasH2OOptions.OPTION_PRESCALE, Boolean.FALSE);
+
+		if(prescale){
+			byte[][] compressedTrees = getCompressedTrees(model);
+
+			// The sum of pre-scaled leaf scores is the mean path length divided by the average path length of unsuccessful search
+			double scale = compressedTrees.length * ExtendedIsolationForestMojoModel.averagePathLengthOfUnsuccessfulSearch(sampleSize);
+
+			List<TreeModel> treeModels = encodeTreeModels(scale, schema);
+
+			Transformation anomalyScore = new AbstractTransformation(){
+
+				@Override
+				public String getName(String name){
+					return "anomalyScore";
+				}
+
+				@Override
+				public boolean isFinalResult(){
+					return true;
+				}
+
+				@Override
+				public Expression createExpression(FieldRef fieldRef){
+					return ExpressionUtil.createApply(PMMLFunctions.POW, ExpressionUtil.createConstant(0.5d), fieldRef);
+				}
+			};
+
+			MiningModel miningModel = new MiningModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema((Label)null))
+				.setSegmentation(MiningModelUtil.createSegmentation(Segmentation.MultipleModelMethod.SUM, Segmentation.MissingPredictionTreatment.RETURN_MISSING, treeModels))
+				.setOutput(ModelUtil.createPredictedOutput("normalizedPathLength", OpType.CONTINUOUS, DataType.DOUBLE, anomalyScore));
+
+			return miningModel;
+		}
+
+		List<TreeModel> treeModels = encodeTreeModels(1d, schema);
 
 		Transformation anomalyScore = new AbstractTransformation(){
 
@@ -99,7 +132,7 @@ public class ExtendedIsolationForestMojoModelConverter extends Converter<Extende
 		return miningModel;
 	}
 
-	private List<TreeModel> encodeTreeModels(Schema schema){
+	private List<TreeModel> encodeTreeModels(double scale, Schema schema){
 		ExtendedIsolationForestMojoModel model = getModel();
 
 		byte[][] compressedTrees = getCompressedTrees(model);
@@ -109,7 +142,7 @@ public class ExtendedIsolationForestMojoModelConverter extends Converter<Extende
 		for(int i = 0, max = compressedTrees.length; i < max; i++){
 			byte[] compressedTree = compressedTrees[i];
 
-			TreeModel treeModel = encodeTreeModel(i, compressedTree, schema);
+			TreeModel treeModel = encodeTreeModel(i, compressedTree, scale, schema);
 
 			result.add(treeModel);
 		}
@@ -117,12 +150,15 @@ public class ExtendedIsolationForestMojoModelConverter extends Converter<Extende
 		return result;
 	}
 
-	private TreeModel encodeTreeModel(int index, byte[] compressedTree, Schema schema){
+	private TreeModel encodeTreeModel(int index, byte[] compressedTree, double scale, Schema schema){
 		ByteBufferWrapper byteBuffer = new ByteBufferWrapper(compressedTree);
 
-		Map<Integer, Node> nodeMap = new HashMap<>();
-		Map<Integer, Feature> featureMap = new HashMap<>();
-		Map<Integer, Integer> countMap = new HashMap<>();
+		// Node tables are indexed by heap-style node numbers
+		Node[] nodes = new Node[16];
+		Predicate[][] splits = new Predicate[16][];
+		int[] counts = new int[16];
+
+		int nodeCount = 0;
 
 		int sizeOfBranchingArrays = byteBuffer.get4();
 
@@ -135,9 +171,17 @@ public class ExtendedIsolationForestMojoModelConverter extends Converter<Extende
 
 			if(nodeNumber == 0){
 
-				if(!nodeMap.isEmpty()){
+				if(nodeCount > 0){
 					break;
 				}
+			} // End if
+
+			if(nodeNumber >= nodes.length){
+				int capacity = Math.max(2 * nodes.length, nodeNumber + 1);
+
+				nodes = Arrays.copyOf(nodes, capacity);
+				splits = Arrays.copyOf(splits, capacity);
+				counts = Arrays.copyOf(counts, capacity);
 			}
 
 			Node node;
@@ -146,27 +190,29 @@ public class ExtendedIsolationForestMojoModelConverter extends Converter<Extende
 				case 'N':
 					node = new BranchNode();
 
-					Feature feature = loadFeature(FieldNameUtil.create("split", index, nodeNumber), byteBuffer, n, p, schema);
-					featureMap.put(nodeNumber, feature);
+					Predicate[] split = loadSplit(FieldNameUtil.create("split", index, nodeNumber), byteBuffer, n, p, schema);
+					splits[nodeNumber] = split;
 
 					break;
 				case 'L':
 					node = new CountingLeafNode();
 
 					int numRows = loadSampleSize(byteBuffer);
-					countMap.put(nodeNumber, numRows);
+					counts[nodeNumber] = numRows;
 
 					break;
 				default:
 					throw new H2OException("Node type " + ExceptionUtil.formatLiteral(String.valueOf((char)nodeType)) + " is not supported");
 			}
 
-			nodeMap.put(nodeNumber, node);
+			nodes[nodeNumber] = node;
+
+			nodeCount++;
 		}
 
 		Label label = new ContinuousLabel(DataType.DOUBLE);
 
-		Node root = encodeNode(0, True.INSTANCE, 0, nodeMap, featureMap, countMap);
+		Node root = encodeNode(nodes, splits, counts, scale);
 
 		TreeModel treeModel = new TreeModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema(label), root);
 
@@ -174,42 +220,76 @@ public class ExtendedIsolationForestMojoModelConverter extends Converter<Extende
 	}
 
 	static
-	private Node encodeNode(int index, Predicate predicate, int height, Map<Integer, Node> nodeMap, Map<Integer, Feature> featureMap, Map<Integer, Integer> countMap){
-		Node result = nodeMap.get(index);
+	private Node encodeNode(Node[] nodes, Predicate[][] splits, int[] counts, double scale){
+		int[] stack = new int[16];
+		int size = 0;
 
-		result
-			.setId(index)
-			.setPredicate(predicate);
+		stack[size++] = 0;
 
-		if(result instanceof BranchNode){
-			Feature feature = featureMap.get(index);
+		while(size > 0){
+			int index = stack[--size];
 
-			String name = feature.getName();
+			Node node = (index < nodes.length ? nodes[index] : null);
+			if(node == null){
+				throw new H2OException("Node " + index + " is not defined");
+			}
 
-			Predicate leftPredicate = new SimplePredicate(name, SimplePredicate.Operator.LESS_OR_EQUAL, 0);
-			Predicate rightPredicate = new SimplePredicate(name, SimplePredicate.Operator.GREATER_THAN, 0);
+			// The height of a node is the number of its ancestors
+			int height = 31 - Integer.numberOfLeadingZeros(index + 1);
 
-			Node leftChild = encodeNode(2 * index + 1, leftPredicate, height + 1, nodeMap, featureMap, countMap);
-			Node rightChild = encodeNode(2 * index + 2, rightPredicate, height + 1, nodeMap, featureMap, countMap);
+			Predicate predicate;
 
-			result.addNodes(leftChild, rightChild);
-		} else
+			if(index == 0){
+				predicate = True.INSTANCE;
+			} else
 
-		if(result instanceof LeafNode){
-			Integer numRows = countMap.get(index);
+			{
+				Predicate[] split = splits[(index - 1) / 2];
 
-			result.setScore(height + ExtendedIsolationForestMojoModel.averagePathLengthOfUnsuccessfulSearch(numRows));
-		} else
+				predicate = split[(index % 2) == 1 ? 0 : 1];
+			}
 
-		{
-			throw new IllegalArgumentException();
+			node
+				.setId(index)
+				.setPredicate(predicate);
+
+			if(node instanceof BranchNode){
+
+				if(size + 2 > stack.length){
+					stack = Arrays.copyOf(stack, 2 * stack.length);
+				}
+
+				// The right child is pushed first, so that the left child is added to this node first
+				stack[size++] = 2 * index + 2;
+				stack[size++] = 2 * index + 1;
+			} else
+
+			if(node instanceof LeafNode){
+				int numRows = counts[index];
+
+				double pathLength = height + ExtendedIsolationForestMojoModel.averagePathLengthOfUnsuccessfulSearch(numRows);
+
+				node.setScore(scale != 1d ? (pathLength / scale) : pathLength);
+			} else
+
+			{
+				throw new IllegalArgumentException();
+			} // End if
+
+			if(index > 0){
+				Node parent = nodes[(index - 1) / 2];
+
+				parent.addNodes(node);
+			}
 		}
 
-		return result;
+		return nodes[0];
 	}
 
+	// Returns the predicates of the left and right child nodes.
+	// The split condition n . (x - p) <= 0 is evaluated as n . x <= n . p
 	static
-	private Feature loadFeature(String name, ByteBufferWrapper byteBuffer, double[] n, double[] p, Schema schema){
+	private Predicate[] loadSplit(String name, ByteBufferWrapper byteBuffer, double[] n, double[] p, Schema schema){
 		ModelEncoder encoder = schema.getEncoder();
 
 		for(int i = 0; i < n.length; i++){
@@ -220,49 +300,85 @@ public class ExtendedIsolationForestMojoModelConverter extends Converter<Extende
 			p[i] = byteBuffer.get8d();
 		}
 
-		List<Expression> expressions = new ArrayList<>();
+		List<Integer> indices = new ArrayList<>();
 
 		for(int i = 0; i < n.length; i++){
-			Feature feature = schema.getFeature(i);
 
 			if(ValueUtil.isZero(n[i])){
 				continue;
 			}
 
-			ContinuousFeature continuousFeature = feature.toContinuousFeature();
+			indices.add(i);
+		}
+
+		if(indices.size() == 1){
+			int index = Iterables.getOnlyElement(indices);
 
-			Expression expression = continuousFeature.ref();
+			Feature feature = schema.getFeature(index);
 
-			if(!ValueUtil.isOne(p[i])){
-				expression = ExpressionUtil.createApply(PMMLFunctions.SUBTRACT, expression, ExpressionUtil.createConstant(p[i]));
+			ContinuousFeature continuousFeature = feature.toContinuousFeature();
+
+			// A single-component split is a threshold on the raw feature
+			String featureName = continuousFeature.getName();
+			Double threshold = p[index];
+
+			if(n[index] > 0d){
+				return new Predicate[]{
+					new SimplePredicate(featureName, SimplePredicate.Operator.LESS_OR_EQUAL, threshold),
+					new SimplePredicate(featureName, SimplePredicate.Operator.GREATER_THAN, threshold)
+				};
+			} else
+
+			{
+				return new Predicate[]{
+					new SimplePredicate(featureName, SimplePredicate.Operator.GREATER_OR_EQUAL, threshold),
+					new SimplePredicate(featureName, SimplePredicate.Operator.LESS_THAN, threshold)
+				};
 			}
+		} else
 
-			expression = ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, expression, ExpressionUtil.createConstant(n[i]));
+		if(indices.size() >= 2){
+			Apply apply = ExpressionUtil.createApply(PMMLFunctions.SUM);
 
-			expressions.add(expression);
-		}
+			double threshold = 0d;
 
-		Expression expression;
+			for(int index : indices){
+				Feature feature = schema.getFeature(index);
 
-		if(expressions.size() == 1){
-			expression = Iterables.getOnlyElement(expressions);
-		} else
+				ContinuousFeature continuousFeature = feature.toContinuousFeature();
 
-		if(expressions.size() >= 2){
-			Apply apply = ExpressionUtil.createApply(PMMLFunctions.SUM);
+				Expression expression = continuousFeature.ref();
 
-			(apply.getExpressions()).addAll(expressions);
+				if(!ValueUtil.isOne(n[index])){
+					expression = ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, expression, ExpressionUtil.createConstant(n[index]));
+				}
+
+				(apply.getExpressions()).add(expression);
+
+				threshold += (n[index] * p[index]);
+			}
+
+			DerivedField derivedField;
+
+			if(encoder instanceof H2OEncoder){
+				derivedField = ((H2OEncoder)encoder).ensureDerivedField(name, OpType.CONTINUOUS, DataType.DOUBLE, apply);
+			} else
+
+			{
+				derivedField = encoder.createDerivedField(name, OpType.CONTINUOUS, DataType.DOUBLE, apply);
+			}
 
-			expression = apply;
+			String featureName = derivedField.requireName();
+
+			return new Predicate[]{
+				new SimplePredicate(featureName, SimplePredicate.Operator.LESS_OR_EQUAL, threshold),
+				new SimplePredicate(featureName, SimplePredicate.Operator.GREATER_THAN, threshold)
+			};
 		} else
 
 		{
 			throw new IllegalArgumentException();
 		}
-
-		DerivedField derivedField = encoder.createDerivedField(name, OpType.CONTINUOUS, DataType.DOUBLE, expression);
-
-		return new ContinuousFeature(encoder, derivedField);
 	}
 
 	static
@@ -272,24 +388,14 @@ public class ExtendedIsolationForestMojoModelConverter extends Converter<Extende
 
 	static
 	public byte[][] getCompressedTrees(ExtendedIsolationForestMojoModel model){
-		return (byte[][])getFieldValue(FIELD_COMPRESSEDTREES, model);
+		return (byte[][])FIELD_COMPRESSEDTREES.get(model);
 	}
 
 	static
 	public long getSampleSize(ExtendedIsolationForestMojoModel model){
-		return (long)getFieldValue(FIELD_SAMPLE_SIZE, model);
+		return FIELD_SAMPLE_SIZE.getLong(model);
 	}
 
-	private static final Field FIELD_COMPRESSEDTREES;
-	private static final Field FIELD_SAMPLE_SIZE;
-
-	static {
-
-		try {
-			FIELD_COMPRESSEDTREES = ExtendedIsolationForestMojoModel.class.getDeclaredField("_compressedTrees");
-			FIELD_SAMPLE_SIZE = ExtendedIsolationForestMojoModel.class.getDeclaredField("_sample_size");
-		} catch(ReflectiveOperationException roe){
-			throw new RuntimeException(roe);
-		}
-	}
+	private static final FieldAccessor FIELD_COMPRESSEDTREES = new FieldAccessor(ExtendedIsolationForestMojoModel.class, "_compressedTrees");
+	private static final FieldAccessor FIELD_SAMPLE_SIZE = new FieldAccessor(ExtendedIsolationForestMojoModel.class, "_sample_size");
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class FieldAccessor {
+
+	private Class<?> clazz = null;
+
+	private String className = null;
+
+	private ClassLoader classLoader = null;
+
+	private String name = null;
+
+	private volatile VarHandle varHandle = null;
+
+
+	public FieldAccessor(Class<?> clazz, String name){
+		setClass(clazz);
+		setClassName(clazz.getName());
+		setName(name);
+	}
+
+	public FieldAccessor(String className, String name){
+		setClassName(className);
+		setName(name);
+
+		// The class is resolved relative to the class that declares this field accessor
+		Class<?> callerClass = FieldAccessor.stackWalker.getCallerClass();
+
+		setClassLoader(callerClass.getClassLoader());
+	}
+
+	public Object get(Object object){
+		VarHandle varHandle = getVarHandle();
+
+		return (Object)varHandle.get(object);
+	}
+
+	public int getInt(Object object){
+		VarHandle varHandle = getVarHandle();
+
+		return (int)varHandle.get(object);
+	}
+
+	public long getLong(Object object){
+		VarHandle varHandle = getVarHandle();
+
+		return (long)varHandle.get(object);
+	}
+
+	public boolean getBoolean(Object object){
+		VarHandle varHandle = getVarHandle();
+
+		return (boolean)varHandle.get(object);
+	}
+
+	private void setClass(Class<?> clazz){
+		this.clazz = Objects.requireNonNull(clazz);
+	}
+
+	public String getClassName(){
+		return this.className;
+	}
+
+	private void setClassName(String className){
+		this.className = Objects.requireNonNull(className);
+	}
+
+	private void setClassLoader(ClassLoader classLoader){
+		this.classLoader = classLoader;
+	}
+
+	public String getName(){
+		return this.name;
+	}
+
+	private void setName(String name){
+		this.name = Objects.requireNonNull(name);
+	}
+
+	private VarHandle getVarHandle(){
+		VarHandle varHandle = this.varHandle;
+
+		if(varHandle == null){
+			Class<?> clazz = loadClass();
+
+			varHandle = FieldAccessor.varHandles.get(clazz)
+				.computeIfAbsent(getName(), name -> findVarHandle(clazz, name));
+
+			this.varHandle = varHandle;
+		}
+
+		return varHandle;
+	}
+
+	private Class<?> loadClass(){
+
+		if(this.clazz != null){
+			return this.clazz;
+		}
+
+		try {
+			return Class.forName(getClassName(), false, this.classLoader);
+		} catch(ClassNotFoundException cnfe){
+			throw new RuntimeException(cnfe);
+		}
+	}
+
+	static
+	private VarHandle findVarHandle(Class<?> clazz, String name){
+
+		try {
+			Field field = clazz.getDeclaredField(name);
+
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+
+			return lookup.unreflectVarHandle(field);
+		} catch(ReflectiveOperationException roe){
+			throw new RuntimeException(roe);
+		}
+	}
+
+	private static final StackWalker stackWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+	private static final ClassValue<Map<String, VarHandle>> varHandles = new ClassValue<Map<String, VarHandle>>(){
+
+		@Override
+		protected Map<String, VarHandle> computeValue(Class<?> clazz){
+			return new ConcurrentHashMap<>();
+		}
+	};
+}
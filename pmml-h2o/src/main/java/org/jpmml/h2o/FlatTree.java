@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.util.Arrays;
+
+import org.dmg.pmml.Predicate;
+import org.dmg.pmml.tree.CountingBranchNode;
+import org.dmg.pmml.tree.CountingLeafNode;
+import org.dmg.pmml.tree.Node;
+
+// Nodes are stored in depth-first pre-order.
+// Every parent node precedes its child nodes, and the child nodes of a parent node appear in their encounter order
+public class FlatTree implements TreeBuilder {
+
+	private int size = 0;
+
+	private int[] ids = new int[0];
+
+	private byte[] flags = new byte[0];
+
+	private int[] parents = new int[0];
+
+	private Predicate[] predicates = new Predicate[0];
+
+	private float[] scores = new float[0];
+
+	private float[] auxScores = new float[0];
+
+	private float[] auxRecordCounts = new float[0];
+
+
+	public FlatTree(){
+	}
+
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	@Override
+	public int addBranch(int id, Predicate predicate, int parent, boolean defaultChild){
+		return addNode(id, (byte)(defaultChild ? FLAG_DEFAULTCHILD : 0), predicate, parent, Float.NaN);
+	}
+
+	@Override
+	public int addLeaf(int id, Predicate predicate, int parent, boolean defaultChild, float score){
+		return addNode(id, (byte)(FLAG_LEAF | (defaultChild ? FLAG_DEFAULTCHILD : 0)), predicate, parent, score);
+	}
+
+	private int addNode(int id, byte flags, Predicate predicate, int parent, float score){
+		int index = this.size;
+
+		if(parent >= index){
+			throw new IllegalArgumentException();
+		} // End if
+
+		if(index == this.ids.length){
+			int capacity = Math.max(2 * index, 16);
+
+			this.ids = Arrays.copyOf(this.ids, capacity);
+			this.flags = Arrays.copyOf(this.flags, capacity);
+			this.parents = Arrays.copyOf(this.parents, capacity);
+			this.predicates = Arrays.copyOf(this.predicates, capacity);
+			this.scores = Arrays.copyOf(this.scores, capacity);
+			this.auxScores = Arrays.copyOf(this.auxScores, capacity);
+			this.auxRecordCounts = Arrays.copyOf(this.auxRecordCounts, capacity);
+		}
+
+		this.ids[index] = id;
+		this.flags[index] = flags;
+		this.parents[index] = parent;
+		this.predicates[index] = predicate;
+		this.scores[index] = score;
+
+		this.size++;
+
+		return index;
+	}
+
+	@Override
+	public void setAuxInfo(int index, float score, float recordCount){
+
+		if((this.flags[index] & FLAG_AUX) != 0){
+			throw new IllegalArgumentException();
+		}
+
+		this.flags[index] |= FLAG_AUX;
+		this.auxScores[index] = score;
+		this.auxRecordCounts[index] = recordCount;
+	}
+
+	public void trim(){
+		int size = this.size;
+
+		if(size == this.ids.length){
+			return;
+		}
+
+		this.ids = Arrays.copyOf(this.ids, size);
+		this.flags = Arrays.copyOf(this.flags, size);
+		this.parents = Arrays.copyOf(this.parents, size);
+		this.predicates = Arrays.copyOf(this.predicates, size);
+		this.scores = Arrays.copyOf(this.scores, size);
+		this.auxScores = Arrays.copyOf(this.auxScores, size);
+		this.auxRecordCounts = Arrays.copyOf(this.auxRecordCounts, size);
+	}
+
+	public Node toNode(SharedTree sharedTree){
+		int size = this.size;
+
+		if(size == 0){
+			throw new IllegalStateException();
+		}
+
+		Node[] nodes = new Node[size];
+
+		for(int i = 0; i < size; i++){
+			byte flags = this.flags[i];
+
+			Node node;
+
+			if((flags & FLAG_LEAF) != 0){
+				node = new CountingLeafNode((double)this.scores[i], this.predicates[i]);
+			} else
+
+			{
+				node = new CountingBranchNode(null, this.predicates[i]);
+			}
+
+			node.setId(this.ids[i]);
+
+			if((flags & FLAG_AUX) != 0){
+				sharedTree.encodeAuxInfo(node, this.auxScores[i], this.auxRecordCounts[i]);
+			}
+
+			int parent = this.parents[i];
+			if(parent >= 0){
+				Node parentNode = nodes[parent];
+
+				parentNode.addNodes(node);
+
+				if((flags & FLAG_DEFAULTCHILD) != 0){
+					parentNode.setDefaultChild(node.getId());
+				}
+			}
+
+			nodes[i] = node;
+		}
+
+		return nodes[0];
+	}
+
+	private static final byte FLAG_LEAF = 1;
+	private static final byte FLAG_DEFAULTCHILD = 2;
+	private static final byte FLAG_AUX = 4;
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+public class ForkJoinUtil {
+
+	private ForkJoinUtil(){
+	}
+
+	// The requested parallelism is the maximum number of threads (including the calling thread) that work on the function at the same time.
+	// It is capped by the size of the shared pool
+	static
+	public <E> List<E> applyAll(IntFunction<E> function, int max, Integer parallelism){
+
+		if(parallelism == null || parallelism <= 1 || max <= 1){
+			List<E> result = new ArrayList<>(max);
+
+			for(int i = 0; i < max; i++){
+				E element = function.apply(i);
+
+				result.add(element);
+			}
+
+			return result;
+		}
+
+		Object[] elements = new Object[max];
+
+		AtomicInteger index = new AtomicInteger(0);
+
+		Runnable worker = new Runnable(){
+
+			@Override
+			public void run(){
+
+				try {
+					for(int i = index.getAndIncrement(); i < max; i = index.getAndIncrement()){
+						elements[i] = function.apply(i);
+					}
+				} catch(RuntimeException | Error e){
+					// Stop the other workers
+					index.set(max);
+
+					throw e;
+				}
+			}
+		};
+
+		int count = Math.min(Math.min(parallelism, ForkJoinUtil.pool.getParallelism() + 1), max);
+
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(count - 1);
+
+		for(int i = 0; i < count - 1; i++){
+			tasks.add(submit(worker));
+		}
+
+		try {
+			worker.run();
+		} finally {
+
+			for(ForkJoinTask<?> task : tasks){
+				task.join();
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		List<E> result = (List<E>)new ArrayList<>(Arrays.asList(elements));
+
+		return result;
+	}
+
+	// Nested tasks are forked into the shared pool directly, so that nested parallelism does not add threads.
+	// Tasks that are submitted from other pools (eg. the common pool) are not forked into those pools
+	static
+	private ForkJoinTask<?> submit(Runnable runnable){
+
+		if(ForkJoinTask.getPool() == ForkJoinUtil.pool){
+			ForkJoinTask<?> task = ForkJoinTask.adapt(runnable);
+
+			return task.fork();
+		}
+
+		return ForkJoinUtil.pool.submit(runnable);
+	}
+
+	// A single pool is shared between all conversions.
+	// Its worker threads are daemon threads, which are retired when idle
+	private static final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+}
@@ -18,7 +18,6 @@
  */
 package org.jpmml.h2o;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -78,12 +77,6 @@ public class GlmMojoModelBaseConverter<M extends MojoModel> extends Converter<M>
 
 		SchemaUtil.checkSize(nums, continuousFeatures);
 
-		List<Feature> reorderedFeatures = new ArrayList<>();
-		reorderedFeatures.addAll(discreteFeatures);
-		reorderedFeatures.addAll(continuousFeatures);
-
-		features = reorderedFeatures;
-
 		if(meanImputation){
 			int[] catModes = getCatModes(model);
 			double[] numMeans = getNumMeans(model);
@@ -101,16 +94,26 @@ public class GlmMojoModelBaseConverter<M extends MojoModel> extends Converter<M>
 
 				List<?> values = discreteFeature.getValues();
 
-				ImputerUtil.encodeFeature(discreteFeature, values.get(catModes[i]), MissingValueTreatmentMethod.AS_MODE);
+				discreteFeature = (DiscreteFeature)ImputerUtil.encodeFeature(discreteFeature, values.get(catModes[i]), MissingValueTreatmentMethod.AS_MODE);
+
+				discreteFeatures.set(i, discreteFeature);
 			} // End for
 
 			for(int i = 0; i < nums; i++){
 				ContinuousFeature continuousFeature = continuousFeatures.get(i);
 
-				ImputerUtil.encodeFeature(continuousFeature, numMeans[i], MissingValueTreatmentMethod.AS_MEAN);
+				continuousFeature = (ImputerUtil.encodeFeature(continuousFeature, numMeans[i], MissingValueTreatmentMethod.AS_MEAN)).toContinuousFeature();
+
+				continuousFeatures.set(i, continuousFeature);
 			}
 		}
 
+		List<Feature> reorderedFeatures = new ArrayList<>();
+		reorderedFeatures.addAll(discreteFeatures);
+		reorderedFeatures.addAll(continuousFeatures);
+
+		features = reorderedFeatures;
+
 		Function<Feature, Stream<Feature>> function = new Function<Feature, Stream<Feature>>(){
 
 			@Override
@@ -141,84 +144,56 @@ public class GlmMojoModelBaseConverter<M extends MojoModel> extends Converter<M>
 
 	static
 	public double[] getBeta(MojoModel model){
-		return (double[])getFieldValue(GlmMojoModelBaseConverter.FIELD_BETA, model);
+		return (double[])GlmMojoModelBaseConverter.FIELD_BETA.get(model);
 	}
 
 	static
 	public int getCats(MojoModel model){
-		return (int)getFieldValue(GlmMojoModelBaseConverter.FIELD_CATS, model);
+		return GlmMojoModelBaseConverter.FIELD_CATS.getInt(model);
 	}
 
 	static
 	public int[] getCatModes(MojoModel model){
-		return (int[])getFieldValue(GlmMojoModelBaseConverter.FIELD_CATMODES, model);
+		return (int[])GlmMojoModelBaseConverter.FIELD_CATMODES.get(model);
 	}
 
 	static
 	public int[] getCatOffsets(MojoModel model){
-		return (int[])getFieldValue(GlmMojoModelBaseConverter.FIELD_CATOFFSETS, model);
+		return (int[])GlmMojoModelBaseConverter.FIELD_CATOFFSETS.get(model);
 	}
 
 	static
 	public String getFamily(MojoModel model){
-		return (String)getFieldValue(GlmMojoModelBaseConverter.FIELD_FAMILY, model);
+		return (String)GlmMojoModelBaseConverter.FIELD_FAMILY.get(model);
 	}
 
 	static
 	public boolean getMeanImputation(MojoModel model){
-		return (boolean)getFieldValue(GlmMojoModelBaseConverter.FIELD_MEANIMPUTATION, model);
+		return GlmMojoModelBaseConverter.FIELD_MEANIMPUTATION.getBoolean(model);
 	}
 
 	static
 	public int getNums(MojoModel model){
-		return (int)getFieldValue(GlmMojoModelBaseConverter.FIELD_NUMS, model);
+		return GlmMojoModelBaseConverter.FIELD_NUMS.getInt(model);
 	}
 
 	static
 	public double[] getNumMeans(MojoModel model){
-		return (double[])getFieldValue(GlmMojoModelBaseConverter.FIELD_NUMMEANS, model);
+		return (double[])GlmMojoModelBaseConverter.FIELD_NUMMEANS.get(model);
 	}
 
 	static
 	public boolean getUseAllFactorLevels(MojoModel model){
-		return (boolean)getFieldValue(GlmMojoModelBaseConverter.FIELD_USEALLFACTORLEVELS, model);
-	}
-
-	private static final Class<?> CLASS_GLMMOJOMODELBASE;
-
-	static {
-
-		try {
-			CLASS_GLMMOJOMODELBASE = Class.forName("hex.genmodel.algos.glm.GlmMojoModelBase");
-		} catch(ReflectiveOperationException roe){
-			throw new RuntimeException(roe);
-		}
+		return GlmMojoModelBaseConverter.FIELD_USEALLFACTORLEVELS.getBoolean(model);
 	}
 
-	private static final Field FIELD_BETA;
-	private static final Field FIELD_CATS;
-	private static final Field FIELD_CATMODES;
-	private static final Field FIELD_CATOFFSETS;
-	private static final Field FIELD_FAMILY;
-	private static final Field FIELD_MEANIMPUTATION;
-	private static final Field FIELD_NUMS;
-	private static final Field FIELD_NUMMEANS;
-	private static final Field FIELD_USEALLFACTORLEVELS;
-
-	static {
-
-		try {
-			FIELD_BETA = CLASS_GLMMOJOMODELBASE.getDeclaredField("_beta");
-			FIELD_CATS = CLASS_GLMMOJOMODELBASE.getDeclaredField("_cats");
-			FIELD_CATMODES = CLASS_GLMMOJOMODELBASE.getDeclaredField("_catModes");
-			FIELD_CATOFFSETS = CLASS_GLMMOJOMODELBASE.getDeclaredField("_catOffsets");
-			FIELD_FAMILY = CLASS_GLMMOJOMODELBASE.getDeclaredField("_family");
-			FIELD_MEANIMPUTATION = CLASS_GLMMOJOMODELBASE.getDeclaredField("_meanImputation");
-			FIELD_NUMS = CLASS_GLMMOJOMODELBASE.getDeclaredField("_nums");
-			FIELD_NUMMEANS = CLASS_GLMMOJOMODELBASE.getDeclaredField("_numMeans");
-			FIELD_USEALLFACTORLEVELS = CLASS_GLMMOJOMODELBASE.getDeclaredField("_useAllFactorLevels");
-		} catch(ReflectiveOperationException roe){
-			throw new RuntimeException(roe);
-		}
-	}
+	private static final FieldAccessor FIELD_BETA = new FieldAccessor("hex.genmodel.algos.glm.GlmMojoModelBase", "_beta");
+	private static final FieldAccessor FIELD_CATS = new FieldAccessor("hex.genmodel.algos.glm.GlmMojoModelBase", "_cats");
+	private static final FieldAccessor FIELD_CATMODES = new FieldAccessor("hex.genmodel.algos.glm.GlmMojoModelBase", "_catModes");
+	private static final FieldAccessor FIELD_CATOFFSETS = new FieldAccessor("hex.genmodel.algos.glm.GlmMojoModelBase", "_catOffsets");
+	private static final FieldAccessor FIELD_FAMILY = new FieldAccessor("hex.genmodel.algos.glm.GlmMojoModelBase", "_family");
+	private static final FieldAccessor FIELD_MEANIMPUTATION = new FieldAccessor("hex.genmodel.algos.glm.GlmMojoModelBase", "_meanImputation");
+	private static final FieldAccessor FIELD_NUMS = new FieldAccessor("hex.genmodel.algos.glm.GlmMojoModelBase", "_nums");
+	private static final FieldAccessor FIELD_NUMMEANS = new FieldAccessor("hex.genmodel.algos.glm.GlmMojoModelBase", "_numMeans");
+	private static final FieldAccessor FIELD_USEALLFACTORLEVELS = new FieldAccessor("hex.genmodel.algos.glm.GlmMojoModelBase", "_useAllFactorLevels");
 }
\ No newline at end of file
@@ -18,7 +18,6 @@
  */
 package org.jpmml.h2o;
 
-import java.lang.reflect.Field;
 import java.util.List;
 
 import com.google.common.primitives.Doubles;
@@ -82,17 +81,8 @@ public class GlmMojoModelConverter extends GlmMojoModelBaseConverter<GlmMojoMode
 
 	static
 	public String getLink(GlmMojoModel model){
-		return (String)getFieldValue(GlmMojoModelConverter.FIELD_LINK, model);
+		return (String)GlmMojoModelConverter.FIELD_LINK.get(model);
 	}
 
-	private static final Field FIELD_LINK;
-
-	static {
-
-		try {
-			FIELD_LINK = GlmMojoModel.class.getDeclaredField("_link");
-		} catch(ReflectiveOperationException roe){
-			throw new RuntimeException(roe);
-		}
-	}
+	private static final FieldAccessor FIELD_LINK = new FieldAccessor(GlmMojoModel.class, "_link");
 }
\ No newline at end of file
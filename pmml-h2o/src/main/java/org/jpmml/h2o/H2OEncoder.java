@@ -20,11 +20,26 @@ package org.jpmml.h2o;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 
+import org.dmg.pmml.Apply;
+import org.dmg.pmml.Constant;
 import org.dmg.pmml.DataField;
 import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.Expression;
+import org.dmg.pmml.FieldRef;
 import org.dmg.pmml.OpType;
+import org.dmg.pmml.tree.Node;
+import org.dmg.pmml.tree.TreeModel;
 import org.jpmml.converter.CategoricalFeature;
 import org.jpmml.converter.ContinuousFeature;
 import org.jpmml.converter.ExceptionUtil;
@@ -41,6 +56,16 @@ public class H2OEncoder extends ModelEncoder {
 
 	private List<Feature> features = new ArrayList<>();
 
+	private Map<TreeModel, Supplier<Node>> deferredNodes = null;
+
+	private boolean sharedSchema = false;
+
+	private Map<List<?>, Feature> imputedFeatures = new LinkedHashMap<>();
+
+	private Map<List<?>, DerivedField> derivedFields = new HashMap<>();
+
+	private ConversionListener listener = ConversionListener.NONE;
+
 
 	public DataField createDataField(String name, String[] categories){
 
@@ -94,4 +119,139 @@ public class H2OEncoder extends ModelEncoder {
 	public void addFeature(Feature feature){
 		this.features.add(feature);
 	}
-}
\ No newline at end of file
+
+	// Returns an existing derived field for a structurally equal expression, which may have a different name
+	public DerivedField ensureDerivedField(String name, OpType opType, DataType dataType, Expression expression){
+		List<?> expressionKey = toKey(expression);
+
+		if(expressionKey == null){
+			return createDerivedField(name, opType, dataType, expression);
+		}
+
+		List<?> key = Arrays.asList(opType, dataType, expressionKey);
+
+		DerivedField derivedField = this.derivedFields.get(key);
+		if(derivedField != null){
+			this.listener.countIncremented(ConversionListener.Counter.DERIVED_FIELDS_REUSED, 1);
+
+			return derivedField;
+		}
+
+		derivedField = createDerivedField(name, opType, dataType, expression);
+
+		this.derivedFields.put(key, derivedField);
+
+		return derivedField;
+	}
+
+	@Override
+	public void addDerivedField(DerivedField derivedField){
+		super.addDerivedField(derivedField);
+
+		this.listener.countIncremented(ConversionListener.Counter.DERIVED_FIELDS_CREATED, 1);
+	}
+
+	public ConversionListener getListener(){
+		return this.listener;
+	}
+
+	public void setListener(ConversionListener listener){
+		this.listener = Objects.requireNonNull(listener);
+	}
+
+	public boolean isSharedSchema(){
+		return this.sharedSchema;
+	}
+
+	public void setSharedSchema(boolean sharedSchema){
+		this.sharedSchema = sharedSchema;
+	}
+
+	public boolean hasImputedFeature(String name){
+		Collection<List<?>> keys = this.imputedFeatures.keySet();
+
+		return keys.stream()
+			.anyMatch(key -> Objects.equals(name, key.get(0)));
+	}
+
+	public Feature getImputedFeature(List<?> key){
+		return this.imputedFeatures.get(key);
+	}
+
+	public void putImputedFeature(List<?> key, Feature feature){
+		this.imputedFeatures.put(key, feature);
+	}
+
+	public boolean isStreaming(){
+		return (this.deferredNodes != null);
+	}
+
+	public void setStreaming(boolean streaming){
+		this.deferredNodes = (streaming ? new IdentityHashMap<>() : null);
+	}
+
+	public Map<TreeModel, Supplier<Node>> getDeferredNodes(){
+
+		if(this.deferredNodes == null){
+			return Collections.emptyMap();
+		}
+
+		return this.deferredNodes;
+	}
+
+	synchronized
+	public void deferNode(TreeModel treeModel, Supplier<Node> supplier){
+
+		if(this.deferredNodes == null){
+			throw new IllegalStateException();
+		}
+
+		this.deferredNodes.put(treeModel, supplier);
+	}
+
+	// Returns null if the expression contains unsupported elements
+	static
+	private List<?> toKey(Expression expression){
+
+		if(expression instanceof FieldRef){
+			FieldRef fieldRef = (FieldRef)expression;
+
+			return Arrays.asList(FieldRef.class, fieldRef.requireField(), fieldRef.getMapMissingTo());
+		} else
+
+		if(expression instanceof Constant){
+			Constant constant = (Constant)expression;
+
+			return Arrays.asList(Constant.class, constant.getValue(), constant.getDataType());
+		} else
+
+		if(expression instanceof Apply){
+			Apply apply = (Apply)expression;
+
+			List<Object> result = new ArrayList<>();
+			result.add(Apply.class);
+			result.add(apply.requireFunction());
+			result.add(apply.getMapMissingTo());
+			result.add(apply.getDefaultValue());
+			result.add(apply.getInvalidValueTreatment());
+
+			if(apply.hasExpressions()){
+				List<Expression> expressions = apply.getExpressions();
+
+				for(Expression childExpression : expressions){
+					List<?> childKey = toKey(childExpression);
+
+					if(childKey == null){
+						return null;
+					}
+
+					result.add(childKey);
+				}
+			}
+
+			return result;
+		}
+
+		return null;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.dmg.pmml.Predicate;
+import org.jpmml.converter.DiscreteFeature;
+import org.jpmml.converter.PredicateManager;
+
+public class H2OPredicateManager extends PredicateManager {
+
+	private Map<SubsetKey, Predicate> subsetPredicates = new HashMap<>();
+
+
+	public H2OPredicateManager(){
+	}
+
+	// Identical category subsets are resolved by their category index bitmap,
+	// without materializing and hashing the list of category values
+	public Predicate createPredicate(DiscreteFeature feature, BitSet indices){
+		SubsetKey key = new SubsetKey(feature.getName(), indices.toLongArray());
+
+		Predicate predicate = this.subsetPredicates.get(key);
+		if(predicate == null){
+			List<?> values = selectValues(feature, indices);
+
+			predicate = createPredicate(feature, values);
+
+			this.subsetPredicates.put(key, predicate);
+		}
+
+		return predicate;
+	}
+
+	static
+	public List<Object> selectValues(DiscreteFeature feature, BitSet indices){
+		List<?> values = feature.getValues();
+
+		List<Object> result = new ArrayList<>(indices.cardinality());
+
+		for(int i = indices.nextSetBit(0); i > -1; i = indices.nextSetBit(i + 1)){
+			result.add(values.get(i));
+		}
+
+		return result;
+	}
+
+	static
+	private class SubsetKey {
+
+		private String name = null;
+
+		private long[] words = null;
+
+
+		private SubsetKey(String name, long[] words){
+			this.name = Objects.requireNonNull(name);
+			this.words = Objects.requireNonNull(words);
+		}
+
+		@Override
+		public int hashCode(){
+			return 31 * this.name.hashCode() + Arrays.hashCode(this.words);
+		}
+
+		@Override
+		public boolean equals(Object object){
+
+			if(object instanceof SubsetKey){
+				SubsetKey that = (SubsetKey)object;
+
+				return Objects.equals(this.name, that.name) && Arrays.equals(this.words, that.words);
+			}
+
+			return false;
+		}
+	}
+}
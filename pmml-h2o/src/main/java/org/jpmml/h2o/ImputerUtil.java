@@ -18,11 +18,24 @@
  */
 package org.jpmml.h2o;
 
+import java.util.Arrays;
+import java.util.List;
+
+import org.dmg.pmml.DataType;
 import org.dmg.pmml.Decorable;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.Expression;
 import org.dmg.pmml.Field;
 import org.dmg.pmml.MissingValueTreatmentMethod;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.PMMLFunctions;
+import org.jpmml.converter.CategoricalFeature;
+import org.jpmml.converter.ContinuousFeature;
+import org.jpmml.converter.DiscreteFeature;
 import org.jpmml.converter.ExceptionUtil;
+import org.jpmml.converter.ExpressionUtil;
 import org.jpmml.converter.Feature;
+import org.jpmml.converter.FieldNameUtil;
 import org.jpmml.converter.MissingValueDecorator;
 import org.jpmml.converter.ModelEncoder;
 
@@ -35,6 +48,11 @@ public class ImputerUtil {
 	public Feature encodeFeature(Feature feature, Object replacementValue, MissingValueTreatmentMethod missingValueTreatmentMethod){
 		ModelEncoder encoder = (ModelEncoder)feature.getEncoder();
 
+		// Field decorators would affect all models that share the field
+		if(encoder instanceof H2OEncoder && ((H2OEncoder)encoder).isSharedSchema()){
+			return encodeDerivedFeature((H2OEncoder)encoder, feature, replacementValue, missingValueTreatmentMethod);
+		}
+
 		Field<?> field = feature.getField();
 
 		if(field instanceof Decorable){
@@ -47,4 +65,50 @@ public class ImputerUtil {
 			throw new H2OException("Field " + ExceptionUtil.formatName(field.requireName()) + " is not decorable");
 		}
 	}
-}
\ No newline at end of file
+
+	static
+	private Feature encodeDerivedFeature(H2OEncoder encoder, Feature feature, Object replacementValue, MissingValueTreatmentMethod missingValueTreatmentMethod){
+		Field<?> field = feature.getField();
+
+		String name = field.requireName();
+		DataType dataType = field.requireDataType();
+
+		List<?> key = Arrays.asList(name, replacementValue, missingValueTreatmentMethod);
+
+		Feature result = encoder.getImputedFeature(key);
+		if(result != null){
+			return result;
+		}
+
+		Expression expression = ExpressionUtil.createApply(PMMLFunctions.IF,
+			ExpressionUtil.createApply(PMMLFunctions.ISMISSING, feature.ref()),
+			ExpressionUtil.createConstant(dataType, replacementValue),
+			feature.ref()
+		);
+
+		String derivedName = FieldNameUtil.create("imputed", name);
+
+		// The same field is imputed with different replacement values
+		if(encoder.hasImputedFeature(name)){
+			derivedName = FieldNameUtil.create("imputed", name, replacementValue);
+		} // End if
+
+		if(feature instanceof DiscreteFeature){
+			DiscreteFeature discreteFeature = (DiscreteFeature)feature;
+
+			DerivedField derivedField = encoder.ensureDerivedField(derivedName, OpType.CATEGORICAL, dataType, expression);
+
+			result = new CategoricalFeature(encoder, derivedField, discreteFeature.getValues());
+		} else
+
+		{
+			DerivedField derivedField = encoder.ensureDerivedField(derivedName, OpType.CONTINUOUS, dataType, expression);
+
+			result = new ContinuousFeature(encoder, derivedField);
+		}
+
+		encoder.putImputedFeature(key, result);
+
+		return result;
+	}
+}
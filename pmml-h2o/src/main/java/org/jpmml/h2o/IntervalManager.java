@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class IntervalManager {
+
+	private Map<String, Interval> intervals = null;
+
+
+	public IntervalManager(){
+		this(Collections.emptyMap());
+	}
+
+	private IntervalManager(Map<String, Interval> intervals){
+		this.intervals = intervals;
+	}
+
+	public Interval getInterval(String name){
+		return this.intervals.getOrDefault(name, Interval.UNBOUNDED);
+	}
+
+	public IntervalManager fork(String name, Interval interval){
+
+		if(Objects.equals(getInterval(name), interval)){
+			return this;
+		}
+
+		Map<String, Interval> intervals = new HashMap<>(this.intervals);
+		intervals.put(name, interval);
+
+		return new IntervalManager(intervals);
+	}
+
+	static
+	public class Interval {
+
+		// Inclusive
+		private double lowerBound;
+
+		// Exclusive
+		private double upperBound;
+
+		private boolean missingPossible;
+
+
+		public Interval(double lowerBound, double upperBound, boolean missingPossible){
+			this.lowerBound = lowerBound;
+			this.upperBound = upperBound;
+			this.missingPossible = missingPossible;
+		}
+
+		public boolean isNonMissingPossible(){
+			return (this.lowerBound < this.upperBound);
+		}
+
+		public boolean isMissingPossible(){
+			return this.missingPossible;
+		}
+
+		public boolean isLessThanPossible(double value){
+			return isNonMissingPossible() && (this.lowerBound < value);
+		}
+
+		public boolean isGreaterOrEqualPossible(double value){
+			return isNonMissingPossible() && (value < this.upperBound);
+		}
+
+		public Interval lessThan(double value, boolean missingPossible){
+			return new Interval(this.lowerBound, Math.min(this.upperBound, value), this.missingPossible && missingPossible);
+		}
+
+		public Interval greaterOrEqual(double value, boolean missingPossible){
+			return new Interval(Math.max(this.lowerBound, value), this.upperBound, this.missingPossible && missingPossible);
+		}
+
+		public Interval notMissing(){
+			return new Interval(this.lowerBound, this.upperBound, false);
+		}
+
+		public Interval missing(){
+			return new Interval(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, this.missingPossible);
+		}
+
+		@Override
+		public int hashCode(){
+			return Objects.hash(this.lowerBound, this.upperBound, this.missingPossible);
+		}
+
+		@Override
+		public boolean equals(Object object){
+
+			if(object instanceof Interval){
+				Interval that = (Interval)object;
+
+				return (Double.compare(this.lowerBound, that.lowerBound) == 0) && (Double.compare(this.upperBound, that.upperBound) == 0) && (this.missingPossible == that.missingPossible);
+			}
+
+			return false;
+		}
+
+		public static final Interval UNBOUNDED = new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, true);
+	}
+}
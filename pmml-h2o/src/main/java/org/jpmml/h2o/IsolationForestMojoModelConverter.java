@@ -18,7 +18,8 @@
  */
 package org.jpmml.h2o;
 
-import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 
 import hex.genmodel.algos.isofor.IsolationForestMojoModel;
@@ -59,6 +60,17 @@ public class IsolationForestMojoModelConverter extends SharedTreeMojoModelConver
 
 		List<TreeModel> treeModels = encodeTreeModels(schema);
 
+		Boolean prescale = getOption(HasH2OOptions.OPTION_PRESCALE, Boolean.FALSE);
+
+		// The anomaly score is a sum of pre-scaled leaf scores
+		if(prescale){
+			MiningModel miningModel = new MiningModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema((Label)null))
+				.setSegmentation(MiningModelUtil.createSegmentation(Segmentation.MultipleModelMethod.SUM, Segmentation.MissingPredictionTreatment.RETURN_MISSING, treeModels))
+				.setOutput(ModelUtil.createPredictedOutput("anomalyScore", OpType.CONTINUOUS, DataType.DOUBLE));
+
+			return miningModel;
+		}
+
 		Transformation anomalyScore = new AbstractTransformation(){
 
 			@Override
@@ -89,26 +101,60 @@ public class IsolationForestMojoModelConverter extends SharedTreeMojoModelConver
 		return;
 	}
 
+	@Override
+	protected Node finishNode(Node root, Schema schema){
+		IsolationForestMojoModel model = getModel();
+
+		root = super.finishNode(root, schema);
+
+		Boolean prescale = getOption(HasH2OOptions.OPTION_PRESCALE, Boolean.FALSE);
+
+		if(!prescale){
+			return root;
+		}
+
+		int minPathLength = getMinPathLength(model);
+		int maxPathLength = getMaxPathLength(model);
+
+		int numTrees = (getCompressedTrees(model)).length;
+
+		double offset = maxPathLength / (double)numTrees;
+		double range = (maxPathLength - minPathLength);
+
+		Deque<Node> nodes = new ArrayDeque<>();
+		nodes.push(root);
+
+		while(!nodes.isEmpty()){
+			Node node = nodes.pop();
+
+			if(node.hasNodes()){
+				List<Node> children = node.getNodes();
+
+				for(Node child : children){
+					nodes.push(child);
+				}
+			} else
+
+			{
+				Number score = (Number)node.getScore();
+
+				node.setScore((offset - score.doubleValue()) / range);
+			}
+		}
+
+		return root;
+	}
+
 	static
 	public int getMaxPathLength(IsolationForestMojoModel model){
-		return (int)getFieldValue(FIELD_MAX_PATH_LENGTH, model);
+		return FIELD_MAX_PATH_LENGTH.getInt(model);
 	}
 
 	static
 	public int getMinPathLength(IsolationForestMojoModel model){
-		return (int)getFieldValue(FIELD_MIN_PATH_LENGTH, model);
+		return FIELD_MIN_PATH_LENGTH.getInt(model);
 	}
 
-	private static final Field FIELD_MAX_PATH_LENGTH;
-	private static final Field FIELD_MIN_PATH_LENGTH;
-
-	static {
-
-		try {
-			FIELD_MAX_PATH_LENGTH = IsolationForestMojoModel.class.getDeclaredField("_max_path_length");
-			FIELD_MIN_PATH_LENGTH = IsolationForestMojoModel.class.getDeclaredField("_min_path_length");
-		} catch(ReflectiveOperationException roe){
-			throw new RuntimeException(roe);
-		}
-	}
+	private static final FieldAccessor FIELD_MAX_PATH_LENGTH = new FieldAccessor(IsolationForestMojoModel.class, "_max_path_length");
+	private static final FieldAccessor FIELD_MIN_PATH_LENGTH = new FieldAccessor(IsolationForestMojoModel.class, "_min_path_length");
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class LoggingConversionListener implements ConversionListener {
+
+	private Map<Counter, AtomicLong> counts = new EnumMap<>(Counter.class);
+
+
+	public LoggingConversionListener(){
+		Counter[] counters = Counter.values();
+
+		for(Counter counter : counters){
+			this.counts.put(counter, new AtomicLong(0L));
+		}
+	}
+
+	@Override
+	public void stageCompleted(Stage stage, long nanos){
+		logger.info("Completed stage {} in {} ms.", stage, TimeUnit.NANOSECONDS.toMillis(nanos));
+	}
+
+	@Override
+	public void countIncremented(Counter counter, long delta){
+		AtomicLong count = this.counts.get(counter);
+
+		count.addAndGet(delta);
+	}
+
+	@Override
+	public void conversionCompleted(){
+		StringBuilder sb = new StringBuilder();
+
+		Counter[] counters = Counter.values();
+
+		for(Counter counter : counters){
+			AtomicLong count = this.counts.get(counter);
+
+			if(sb.length() > 0){
+				sb.append(", ");
+			}
+
+			sb.append(counter).append('=').append(count.getAndSet(0L));
+		}
+
+		logger.info("Completed conversion: {}.", sb);
+	}
+
+	private static final Logger logger = LoggerFactory.getLogger(LoggingConversionListener.class);
+}
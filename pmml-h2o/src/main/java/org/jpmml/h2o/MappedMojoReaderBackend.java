@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public class MappedMojoReaderBackend extends ByteBufferMojoReaderBackend {
+
+	// Deferred blobs are tracked per backend, keyed by the identity of their placeholder arrays
+	private Map<byte[], String> blobs = Collections.synchronizedMap(new IdentityHashMap<>());
+
+
+	public MappedMojoReaderBackend(ByteBuffer buffer) throws IOException {
+		super(buffer);
+	}
+
+	@Override
+	public byte[] getBinaryFile(String filename) throws IOException {
+
+		// Defer the loading of decision tree and booster blobs until they are actually needed
+		if((isTreeBlob(filename) || isBoosterBlob(filename)) && exists(filename)){
+			byte[] result = new byte[0];
+
+			this.blobs.put(result, filename);
+
+			return result;
+		}
+
+		return super.getBinaryFile(filename);
+	}
+
+	// Placeholder arrays are only meaningful to this blob source.
+	// A MOJO model that has been loaded using this backend must not be used without it
+	public BlobSource getBlobSource(){
+		return new BlobSource(){
+
+			@Override
+			public ByteBuffer getBuffer(byte[] blob) throws IOException {
+				String filename = MappedMojoReaderBackend.this.blobs.get(blob);
+
+				if(filename != null){
+					return getEntryBuffer(filename);
+				}
+
+				return BlobSource.HEAP.getBuffer(blob);
+			}
+
+			@Override
+			public byte[] getBytes(byte[] blob) throws IOException {
+				String filename = MappedMojoReaderBackend.this.blobs.get(blob);
+
+				if(filename != null){
+					return readBinaryFile(filename);
+				}
+
+				return BlobSource.HEAP.getBytes(blob);
+			}
+
+			@Override
+			public InputStream getInputStream(byte[] blob) throws IOException {
+				String filename = MappedMojoReaderBackend.this.blobs.get(blob);
+
+				if(filename != null){
+					return getEntryInputStream(filename);
+				}
+
+				return BlobSource.HEAP.getInputStream(blob);
+			}
+		};
+	}
+
+	private byte[] readBinaryFile(String filename) throws IOException {
+		return super.getBinaryFile(filename);
+	}
+
+	static
+	private boolean isTreeBlob(String filename){
+		return MappedMojoReaderBackend.TREE_BLOB.matcher(filename).matches();
+	}
+
+	static
+	private boolean isBoosterBlob(String filename){
+		return MappedMojoReaderBackend.BOOSTER_BLOB.matcher(filename).matches();
+	}
+
+	private static final Pattern TREE_BLOB = Pattern.compile("(.+/)?trees/t\\d+_\\d+(_aux)?\\.bin");
+	private static final Pattern BOOSTER_BLOB = Pattern.compile("(.+/)?boosterBytes");
+}
@@ -24,9 +24,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 import hex.genmodel.ModelMojoReader;
 import hex.genmodel.MojoModel;
+import hex.genmodel.MojoReaderBackend;
 import hex.genmodel.TmpMojoReaderBackend;
 
 public class MojoModelUtil {
@@ -36,15 +40,72 @@ public class MojoModelUtil {
 
 	static
 	public MojoModel readFrom(InputStream is) throws IOException {
+		return readFrom(is, MojoModelUtil.SPOOL_THRESHOLD);
+	}
+
+	static
+	public MojoModel readFrom(InputStream is, int spoolThreshold) throws IOException {
+
+		if(spoolThreshold < 0){
+			throw new IllegalArgumentException();
+		}
+
+		byte[] bytes = is.readNBytes(spoolThreshold);
+
+		int b = is.read();
+		if(b < 0){
+			return readFrom(ByteBuffer.wrap(bytes));
+		}
+
+		// Streams that are larger than the threshold are spooled to a temporary file
 		File tmpZipFile = File.createTempFile("mojo", ".zip");
 
 		try(OutputStream os = new FileOutputStream(tmpZipFile)){
+			os.write(bytes);
+			os.write(b);
+
 			is.transferTo(os);
+		} catch(IOException ioe){
+			tmpZipFile.delete();
+
+			throw ioe;
 		}
 
 		return readFrom(tmpZipFile, true);
 	}
 
+	static
+	public MojoModel readFrom(ByteBuffer buffer) throws IOException {
+		MojoReaderBackend mojoReaderBackend = new ByteBufferMojoReaderBackend(buffer);
+
+		return ModelMojoReader.readFrom(mojoReaderBackend, true);
+	}
+
+	static
+	public Converter<?> mapFrom(File file, ConverterFactory converterFactory) throws IOException {
+		ByteBuffer buffer;
+
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+			long size = channel.size();
+
+			// A byte buffer is limited to 2 GB
+			if(size > Integer.MAX_VALUE){
+				MojoModel mojoModel = readFrom(file, false);
+
+				return converterFactory.newConverter(mojoModel);
+			}
+
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+
+		MappedMojoReaderBackend mojoReaderBackend = new MappedMojoReaderBackend(buffer);
+
+		MojoModel mojoModel = ModelMojoReader.readFrom(mojoReaderBackend, true);
+
+		// The MOJO model is not usable on its own, because its decision tree and booster blobs are loaded on demand
+		return converterFactory.newConverter(mojoModel, mojoReaderBackend.getBlobSource());
+	}
+
 	static
 	public MojoModel readFrom(File tmpZipFile, boolean deleterAfterRead) throws IOException {
 		TmpMojoReaderBackend mojoReaderBackend = new TmpMojoReaderBackend(tmpZipFile){
@@ -77,4 +138,6 @@ public class MojoModelUtil {
 			mojoReaderBackend.close();
 		}
 	}
-}
\ No newline at end of file
+
+	private static final int SPOOL_THRESHOLD = 64 * 1024 * 1024;
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.dmg.pmml.Array;
+import org.dmg.pmml.False;
+import org.dmg.pmml.Predicate;
+import org.dmg.pmml.SimpleSetPredicate;
+import org.dmg.pmml.tree.CountingLeafNode;
+import org.dmg.pmml.tree.Node;
+
+public class NodeCompactor {
+
+	private int removedCount = 0;
+
+
+	public Node compact(Node root){
+		List<Node> nodes = new ArrayList<>();
+		List<Node> parents = new ArrayList<>();
+
+		// Pre-order
+		nodes.add(root);
+		parents.add(null);
+
+		for(int i = 0; i < nodes.size(); i++){
+			Node node = nodes.get(i);
+
+			if(node.hasNodes()){
+				List<Node> children = node.getNodes();
+
+				for(Node child : children){
+					nodes.add(child);
+					parents.add(node);
+				}
+			}
+		}
+
+		int count = nodes.size();
+
+		// Reverse pre-order, so that child nodes are compacted before their parent node
+		for(int i = nodes.size() - 1; i >= 0; i--){
+			Node node = nodes.get(i);
+			Node parent = parents.get(i);
+
+			if(!node.hasNodes()){
+				continue;
+			}
+
+			Node compactedNode = compactNode(node);
+			if(compactedNode == node){
+				continue;
+			} // End if
+
+			if(parent != null){
+				replaceChild(parent, node, compactedNode);
+			} else
+
+			{
+				root = compactedNode;
+			}
+		}
+
+		this.removedCount += (count - countNodes(root));
+
+		return root;
+	}
+
+	public int getRemovedCount(){
+		return this.removedCount;
+	}
+
+	private Node compactNode(Node node){
+		List<Node> children = node.getNodes();
+
+		// Remove child nodes that cannot be reached.
+		// A default child node is reachable by missing values irrespective of its predicate
+		if(children.size() > 1){
+			Object defaultChild = node.getDefaultChild();
+
+			List<Node> liveChildren = new ArrayList<>(children.size());
+
+			for(Node child : children){
+
+				if(isUnsatisfiable(child.getPredicate()) && !Objects.equals(defaultChild, child.getId())){
+					continue;
+				}
+
+				liveChildren.add(child);
+			}
+
+			if(liveChildren.size() < children.size() && !liveChildren.isEmpty()){
+				children.clear();
+				children.addAll(liveChildren);
+			}
+		} // End if
+
+		// Replace the parent node with its single child node.
+		// The child node takes the place (id, predicate and record count) of the parent node, but keeps its own score
+		if(children.size() == 1){
+			Node child = children.get(0);
+
+			child
+				.setId(node.getId())
+				.setPredicate(node.getPredicate())
+				.setRecordCount(node.getRecordCount());
+
+			return child;
+		}
+
+		// Replace leaf child nodes that have the same score with the parent node
+		Object score = null;
+
+		for(Node child : children){
+
+			if(child.hasNodes() || child.getScore() == null){
+				return node;
+			} // End if
+
+			if(score == null){
+				score = child.getScore();
+			} else
+
+			if(!Objects.equals(score, child.getScore())){
+				return node;
+			}
+		}
+
+		Node result = new CountingLeafNode(score, node.getPredicate())
+			.setId(node.getId())
+			.setRecordCount(node.getRecordCount());
+
+		return result;
+	}
+
+	static
+	private void replaceChild(Node parent, Node child, Node newChild){
+		List<Node> children = parent.getNodes();
+
+		for(int i = 0; i < children.size(); i++){
+
+			if(children.get(i) == child){
+				children.set(i, newChild);
+
+				return;
+			}
+		}
+
+		throw new IllegalArgumentException();
+	}
+
+	static
+	private int countNodes(Node root){
+		List<Node> nodes = new ArrayList<>();
+		nodes.add(root);
+
+		for(int i = 0; i < nodes.size(); i++){
+			Node node = nodes.get(i);
+
+			if(node.hasNodes()){
+				nodes.addAll(node.getNodes());
+			}
+		}
+
+		return nodes.size();
+	}
+
+	static
+	private boolean isUnsatisfiable(Predicate predicate){
+
+		if(predicate instanceof False){
+			return true;
+		} else
+
+		if(predicate instanceof SimpleSetPredicate){
+			SimpleSetPredicate simpleSetPredicate = (SimpleSetPredicate)predicate;
+
+			if(simpleSetPredicate.getBooleanOperator() != SimpleSetPredicate.BooleanOperator.IS_IN){
+				return false;
+			}
+
+			Array array = simpleSetPredicate.getArray();
+
+			Object value = array.getValue();
+
+			if(value instanceof Collection){
+				Collection<?> values = (Collection<?>)value;
+
+				return values.isEmpty();
+			} else
+
+			if(value instanceof String){
+				String string = (String)value;
+
+				return string.trim().isEmpty();
+			}
+		}
+
+		return false;
+	}
+}
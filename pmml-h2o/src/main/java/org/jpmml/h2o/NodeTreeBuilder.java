@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o;
+
+import java.util.Arrays;
+
+import org.dmg.pmml.Predicate;
+import org.dmg.pmml.tree.CountingBranchNode;
+import org.dmg.pmml.tree.CountingLeafNode;
+import org.dmg.pmml.tree.Node;
+
+// Nodes are materialized as they are added
+public class NodeTreeBuilder implements TreeBuilder {
+
+	private SharedTree sharedTree = null;
+
+	private int size = 0;
+
+	private Node[] nodes = new Node[0];
+
+
+	public NodeTreeBuilder(SharedTree sharedTree){
+		this.sharedTree = sharedTree;
+	}
+
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	@Override
+	public int addBranch(int id, Predicate predicate, int parent, boolean defaultChild){
+		Node node = new CountingBranchNode(null, predicate);
+
+		return addNode(id, node, parent, defaultChild);
+	}
+
+	@Override
+	public int addLeaf(int id, Predicate predicate, int parent, boolean defaultChild, float score){
+		Node node = new CountingLeafNode((double)score, predicate);
+
+		return addNode(id, node, parent, defaultChild);
+	}
+
+	private int addNode(int id, Node node, int parent, boolean defaultChild){
+		int index = this.size;
+
+		if(parent >= index){
+			throw new IllegalArgumentException();
+		} // End if
+
+		if(index == this.nodes.length){
+			this.nodes = Arrays.copyOf(this.nodes, Math.max(2 * index, 16));
+		}
+
+		node.setId(id);
+
+		if(parent >= 0){
+			Node parentNode = this.nodes[parent];
+
+			parentNode.addNodes(node);
+
+			if(defaultChild){
+				parentNode.setDefaultChild(node.getId());
+			}
+		}
+
+		this.nodes[index] = node;
+
+		this.size++;
+
+		return index;
+	}
+
+	@Override
+	public void setAuxInfo(int index, float score, float recordCount){
+		SharedTree sharedTree = this.sharedTree;
+
+		sharedTree.encodeAuxInfo(this.nodes[index], score, recordCount);
+	}
+
+	public Node getRoot(){
+
+		if(this.size == 0){
+			throw new IllegalStateException();
+		}
+
+		return this.nodes[0];
+	}
+}
@@ -18,6 +18,8 @@
  */
 package org.jpmml.h2o;
 
+import java.nio.ByteBuffer;
+
 import hex.genmodel.algos.tree.SharedTreeMojoModel;
 import org.dmg.pmml.tree.Node;
 
@@ -25,6 +27,11 @@ public interface SharedTree {
 
 	byte[] getCompressedTree();
 
+	default
+	ByteBuffer getCompressedTreeBuffer(){
+		return ByteBuffer.wrap(getCompressedTree());
+	}
+
 	byte[] getCompressedTreeAux();
 
 	Integer nextId();
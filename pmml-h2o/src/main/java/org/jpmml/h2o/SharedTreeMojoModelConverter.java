@@ -18,19 +18,28 @@
  */
 package org.jpmml.h2o;
 
-import java.lang.reflect.Field;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 import com.google.common.collect.Iterables;
 import hex.genmodel.algos.tree.NaSplitDir;
 import hex.genmodel.algos.tree.SharedTreeMojoModel;
 import hex.genmodel.utils.ByteBufferWrapper;
-import hex.genmodel.utils.GenmodelBitSet;
 import org.dmg.pmml.DataType;
 import org.dmg.pmml.MiningFunction;
 import org.dmg.pmml.Model;
@@ -49,6 +58,7 @@ import org.jpmml.converter.DiscreteFeature;
 import org.jpmml.converter.ExceptionUtil;
 import org.jpmml.converter.Feature;
 import org.jpmml.converter.Label;
+import org.jpmml.converter.ModelEncoder;
 import org.jpmml.converter.ModelUtil;
 import org.jpmml.converter.PredicateManager;
 import org.jpmml.converter.Schema;
@@ -71,49 +81,83 @@ public class SharedTreeMojoModelConverter<M extends SharedTreeMojoModel> extends
 		byte[][] compressedTrees = getCompressedTrees(model);
 		byte[][] compressedTreesAux = getCompressedTreesAux(model);
 
-		PredicateManager predicateManager = new PredicateManager();
+		ModelEncoder encoder = schema.getEncoder();
 
-		List<TreeModel> result = new ArrayList<>();
+		Integer parallelism = getOption(HasH2OOptions.OPTION_PARALLELISM, null);
+		Boolean compact = getOption(HasH2OOptions.OPTION_COMPACT, Boolean.FALSE);
+		Boolean prune = getOption(HasH2OOptions.OPTION_PRUNE, Boolean.FALSE);
 
-		for(int i = 0, max = Math.max(compressedTrees.length, compressedTreesAux.length); i < max; i++){
-			byte[] compressedTree = compressedTrees[i];
-			byte[] compressedTreeAux = compressedTreesAux[i];
+		// Unreachable splits are eliminated by tracking the value ranges of continuous features
+		IntervalManager intervalManager = (prune ? new IntervalManager() : null);
 
-			Map<Integer, SharedTreeMojoModel.AuxInfo> auxInfos = SharedTreeMojoModel.readAuxInfos(compressedTreeAux);
+		// Placeholder nodes reference all the features of the compressed tree.
+		// Compaction and pruning may remove the only split on a feature, so these decision trees must be decoded before the model schema is encoded
+		boolean deferrable = !(compact || prune);
 
-			SharedTree sharedTree = new SharedTree(){
+		if(deferrable && encoder instanceof H2OEncoder && ((H2OEncoder)encoder).isStreaming()){
+			return encodeDeferredTreeModels((H2OEncoder)encoder, compressedTrees, compressedTreesAux, intervalManager, parallelism, schema);
+		}
 
-				private AtomicInteger idSequence = new AtomicInteger(0);
+		PredicateManager predicateManager = new H2OPredicateManager();
 
+		// Guarded by the predicate manager
+		Set<Predicate> predicates = Collections.newSetFromMap(new IdentityHashMap<>());
 
-				@Override
-				public byte[] getCompressedTree(){
-					return compressedTree;
-				}
+		IntFunction<TreeModel> function = new IntFunction<TreeModel>(){
 
-				@Override
-				public byte[] getCompressedTreeAux(){
-					return compressedTreeAux;
-				}
+			@Override
+			public TreeModel apply(int index){
+				SharedTree sharedTree = createSharedTree(compressedTrees[index], compressedTreesAux[index]);
 
-				@Override
-				public Integer nextId(){
-					return this.idSequence.getAndIncrement();
-				}
+				Node root = encodeNode(sharedTree, sharedTree.nextId(), True.INSTANCE, new CategoryIndexManager(), intervalManager, predicateManager, predicates, schema);
 
-				@Override
-				public SharedTreeMojoModel.AuxInfo getAuxInfo(int id){
-					return auxInfos.get(id);
-				}
+				root = finishNode(root, schema);
 
-				@Override
-				public void encodeAuxInfo(Node node, double score, double recordCount){
-					ensureScore(node, score);
-					ensureRecordCount(node, recordCount);
-				}
-			};
+				return createTreeModel(root);
+			}
+		};
+
+		int max = Math.max(compressedTrees.length, compressedTreesAux.length);
+
+		return ForkJoinUtil.applyAll(function, max, parallelism);
+	}
+
+	private List<TreeModel> encodeDeferredTreeModels(H2OEncoder encoder, byte[][] compressedTrees, byte[][] compressedTreesAux, IntervalManager intervalManager, Integer parallelism, Schema schema){
+		if(parallelism != null && parallelism > 1){
+			return encodeFlatTreeModels(encoder, compressedTrees, compressedTreesAux, intervalManager, parallelism, schema);
+		}
+
+		BlobSource blobSource = getBlobSource();
+
+		int max = Math.max(compressedTrees.length, compressedTreesAux.length);
+
+		List<TreeModel> result = new ArrayList<>(max);
+
+		for(int i = 0; i < max; i++){
+			byte[] compressedTree = compressedTrees[i];
+			byte[] compressedTreeAux = compressedTreesAux[i];
 
-			TreeModel treeModel = encodeTreeModel(sharedTree, predicateManager, schema);
+			ByteBuffer compressedTreeBuffer;
+
+			try {
+				compressedTreeBuffer = blobSource.getBuffer(compressedTree);
+			} catch(IOException ioe){
+				throw new H2OException("Failed to load decision tree", ioe);
+			}
+
+			// The placeholder node references all the features of the decision tree,
+			// so that the model schema can be fully encoded before the decision tree is decoded
+			Node root = encodePlaceholderNode(compressedTreeBuffer, schema);
+
+			TreeModel treeModel = createTreeModel(root);
+
+			encoder.deferNode(treeModel, () -> {
+				SharedTree sharedTree = createSharedTree(compressedTree, compressedTreeAux);
+
+				Node root = encodeNode(sharedTree, sharedTree.nextId(), True.INSTANCE, new CategoryIndexManager(), intervalManager, new H2OPredicateManager(), schema);
+
+				return finishNode(root, schema);
+			});
 
 			result.add(treeModel);
 		}
@@ -121,6 +165,125 @@ public class SharedTreeMojoModelConverter<M extends SharedTreeMojoModel> extends
 		return result;
 	}
 
+	private List<TreeModel> encodeFlatTreeModels(H2OEncoder encoder, byte[][] compressedTrees, byte[][] compressedTreesAux, IntervalManager intervalManager, Integer parallelism, Schema schema){
+		PredicateManager predicateManager = new H2OPredicateManager();
+
+		// Guarded by the predicate manager
+		Set<Predicate> predicates = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		// Decision trees are decoded in parallel into flat trees, which are smaller than the equivalent node graphs.
+		// Node graphs are materialized one at a time as the marshaller reaches them.
+		// All other code paths decode directly into node graphs
+		IntFunction<TreeModel> function = new IntFunction<TreeModel>(){
+
+			@Override
+			public TreeModel apply(int index){
+				SharedTree sharedTree = createSharedTree(compressedTrees[index], compressedTreesAux[index]);
+
+				FlatTree flatTree = encodeFlatTree(sharedTree, sharedTree.nextId(), True.INSTANCE, new CategoryIndexManager(), intervalManager, predicateManager, predicates, schema);
+
+				Node root = encodePlaceholderNode(sharedTree.getCompressedTreeBuffer(), schema);
+
+				TreeModel treeModel = createTreeModel(root);
+
+				encoder.deferNode(treeModel, () -> finishNode(flatTree.toNode(sharedTree), schema));
+
+				return treeModel;
+			}
+		};
+
+		int max = Math.max(compressedTrees.length, compressedTreesAux.length);
+
+		return ForkJoinUtil.applyAll(function, max, parallelism);
+	}
+
+	protected Node finishNode(Node root, Schema schema){
+		return compactNode(root, schema);
+	}
+
+	private Node compactNode(Node root, Schema schema){
+		Boolean compact = getOption(HasH2OOptions.OPTION_COMPACT, Boolean.FALSE);
+
+		if(!compact){
+			return root;
+		}
+
+		ConversionListener listener = getListener(schema);
+
+		NodeCompactor nodeCompactor = new NodeCompactor();
+
+		root = nodeCompactor.compact(root);
+
+		listener.countIncremented(ConversionListener.Counter.NODES_REMOVED, nodeCompactor.getRemovedCount());
+
+		return root;
+	}
+
+	protected SharedTree createSharedTree(byte[] compressedTree, byte[] compressedTreeAux){
+		BlobSource blobSource = getBlobSource();
+
+		ByteBuffer compressedTreeBuffer;
+		byte[] compressedTreeAuxBytes;
+
+		try {
+			compressedTreeBuffer = blobSource.getBuffer(compressedTree);
+			compressedTreeAuxBytes = blobSource.getBytes(compressedTreeAux);
+		} catch(IOException ioe){
+			throw new H2OException("Failed to load decision tree", ioe);
+		}
+
+		Map<Integer, SharedTreeMojoModel.AuxInfo> auxInfos = SharedTreeMojoModel.readAuxInfos(compressedTreeAuxBytes);
+
+		SharedTree sharedTree = new SharedTree(){
+
+			private AtomicInteger idSequence = new AtomicInteger(0);
+
+
+			@Override
+			public byte[] getCompressedTree(){
+				ByteBuffer byteBuffer = getCompressedTreeBuffer();
+
+				if(byteBuffer.hasArray() && byteBuffer.arrayOffset() == 0 && byteBuffer.remaining() == byteBuffer.array().length){
+					return byteBuffer.array();
+				}
+
+				byte[] result = new byte[byteBuffer.remaining()];
+
+				byteBuffer.get(result);
+
+				return result;
+			}
+
+			@Override
+			public ByteBuffer getCompressedTreeBuffer(){
+				return compressedTreeBuffer.duplicate();
+			}
+
+			@Override
+			public byte[] getCompressedTreeAux(){
+				return compressedTreeAuxBytes;
+			}
+
+			@Override
+			public Integer nextId(){
+				return this.idSequence.getAndIncrement();
+			}
+
+			@Override
+			public SharedTreeMojoModel.AuxInfo getAuxInfo(int id){
+				return auxInfos.get(id);
+			}
+
+			@Override
+			public void encodeAuxInfo(Node node, double score, double recordCount){
+				ensureScore(node, score);
+				ensureRecordCount(node, recordCount);
+			}
+		};
+
+		return sharedTree;
+	}
+
 	protected void ensureScore(Node node, double score){
 
 		if(node.hasScore()){
@@ -146,9 +309,19 @@ public class SharedTreeMojoModelConverter<M extends SharedTreeMojoModel> extends
 
 	static
 	public TreeModel encodeTreeModel(SharedTree sharedTree, PredicateManager predicateManager, Schema schema){
-		Label label = new ContinuousLabel(DataType.DOUBLE);
+		return encodeTreeModel(sharedTree, null, predicateManager, schema);
+	}
+
+	static
+	public TreeModel encodeTreeModel(SharedTree sharedTree, IntervalManager intervalManager, PredicateManager predicateManager, Schema schema){
+		Node root = encodeNode(sharedTree, sharedTree.nextId(), True.INSTANCE, new CategoryIndexManager(), intervalManager, predicateManager, schema);
 
-		Node root = encodeNode(sharedTree, null, sharedTree.nextId(), True.INSTANCE, new CategoryManager(), predicateManager, schema);
+		return createTreeModel(root);
+	}
+
+	static
+	private TreeModel createTreeModel(Node root){
+		Label label = new ContinuousLabel(DataType.DOUBLE);
 
 		TreeModel treeModel = new TreeModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema(label), root)
 			.setMissingValueStrategy(TreeModel.MissingValueStrategy.DEFAULT_CHILD);
@@ -156,276 +329,624 @@ public class SharedTreeMojoModelConverter<M extends SharedTreeMojoModel> extends
 		return treeModel;
 	}
 
+	// The original recursive decoder API.
+	// The byte buffer is positioned at the start of the encoded node, or is null for the root node
+	@Deprecated
 	static
 	public Node encodeNode(SharedTree sharedTree, ByteBufferWrapper byteBuffer, Integer id, Predicate predicate, CategoryManager categoryManager, PredicateManager predicateManager, Schema schema){
-		byte[] compressedTree = sharedTree.getCompressedTree();
+		int offset = (byteBuffer != null ? byteBuffer.position() : 0);
 
-		if(byteBuffer == null){
-			byteBuffer = new ByteBufferWrapper(compressedTree);
-		}
+		CategoryIndexManager categoryIndexManager = new CategoryIndexManager();
 
-		SharedTreeMojoModel.AuxInfo auxInfo = sharedTree.getAuxInfo(id);
+		for(int colId = 0; colId < schema.getFeatures().size(); colId++){
+			Feature feature = schema.getFeature(colId);
 
-		int nodeType = byteBuffer.get1U();
+			if(feature instanceof DiscreteFeature){
+				DiscreteFeature discreteFeature = (DiscreteFeature)feature;
 
-		int lmask = (nodeType & 51);
-		int lmask2 = (nodeType & 0xC0) >> 2;
+				java.util.function.Predicate<Object> valueFilter = categoryManager.getValueFilter(discreteFeature.getName());
 
-		int equal = (nodeType & 12);
+				List<?> values = discreteFeature.getValues();
 
-		int colId = byteBuffer.get2();
-		if(colId == 65535){
-			double score = byteBuffer.get4f();
+				BitSet indices = new BitSet(values.size());
 
-			Node result = new CountingLeafNode(score, predicate)
-				.setId(toNodeId(auxInfo != null, id));
+				for(int i = 0; i < values.size(); i++){
 
-			return result;
+					if(valueFilter.test(values.get(i))){
+						indices.set(i);
+					}
+				}
+
+				if(indices.cardinality() < values.size()){
+					categoryIndexManager = categoryIndexManager.fork(colId, indices);
+				}
+			}
 		}
 
-		int naSplitDir = byteBuffer.get1U();
+		NodeTreeBuilder nodeTreeBuilder = decodeTree(sharedTree, offset, id, predicate, categoryIndexManager, null, predicateManager, Collections.newSetFromMap(new IdentityHashMap<>()), new NodeTreeBuilder(sharedTree), schema);
 
-		boolean naVsRest = (naSplitDir == NaSplitDir.NAvsREST.value());
-		boolean leftward = (naSplitDir == NaSplitDir.NALeft.value()) || (naSplitDir == NaSplitDir.Left.value());
+		return nodeTreeBuilder.getRoot();
+	}
 
-		Feature feature = schema.getFeature(colId);
+	static
+	public Node encodeNode(SharedTree sharedTree, Integer id, Predicate predicate, CategoryIndexManager categoryManager, PredicateManager predicateManager, Schema schema){
+		return encodeNode(sharedTree, id, predicate, categoryManager, null, predicateManager, schema);
+	}
 
-		CategoryManager leftCategoryManager = categoryManager;
-		CategoryManager rightCategoryManager = categoryManager;
+	static
+	public Node encodeNode(SharedTree sharedTree, Integer id, Predicate predicate, CategoryIndexManager categoryManager, IntervalManager intervalManager, PredicateManager predicateManager, Schema schema){
+		return encodeNode(sharedTree, id, predicate, categoryManager, intervalManager, predicateManager, Collections.newSetFromMap(new IdentityHashMap<>()), schema);
+	}
 
-		Predicate leftPredicate;
-		Predicate rightPredicate;
+	static
+	private Node encodeNode(SharedTree sharedTree, Integer id, Predicate predicate, CategoryIndexManager categoryManager, IntervalManager intervalManager, PredicateManager predicateManager, Set<Predicate> predicates, Schema schema){
+		NodeTreeBuilder nodeTreeBuilder = decodeTree(sharedTree, 0, id, predicate, categoryManager, intervalManager, predicateManager, predicates, new NodeTreeBuilder(sharedTree), schema);
 
-		if(naVsRest){
-			leftPredicate = predicateManager.createSimplePredicate(feature, SimplePredicate.Operator.IS_NOT_MISSING, null);
-			rightPredicate = predicateManager.createSimplePredicate(feature, SimplePredicate.Operator.IS_MISSING, null);
-		} else
+		return nodeTreeBuilder.getRoot();
+	}
 
-		{
-			if(feature instanceof DiscreteFeature){
-				DiscreteFeature discreteValue = (DiscreteFeature)feature;
+	static
+	public FlatTree encodeFlatTree(SharedTree sharedTree, Integer id, Predicate predicate, CategoryIndexManager categoryManager, PredicateManager predicateManager, Schema schema){
+		return encodeFlatTree(sharedTree, id, predicate, categoryManager, null, predicateManager, schema);
+	}
 
-				String name = discreteValue.getName();
-				List<?> values = discreteValue.getValues();
+	static
+	public FlatTree encodeFlatTree(SharedTree sharedTree, Integer id, Predicate predicate, CategoryIndexManager categoryManager, IntervalManager intervalManager, PredicateManager predicateManager, Schema schema){
+		return encodeFlatTree(sharedTree, id, predicate, categoryManager, intervalManager, predicateManager, Collections.newSetFromMap(new IdentityHashMap<>()), schema);
+	}
 
-				java.util.function.Predicate<Object> valueFilter = categoryManager.getValueFilter(name);
+	static
+	private FlatTree encodeFlatTree(SharedTree sharedTree, Integer id, Predicate predicate, CategoryIndexManager categoryManager, IntervalManager intervalManager, PredicateManager predicateManager, Set<Predicate> predicates, Schema schema){
+		FlatTree flatTree = decodeTree(sharedTree, 0, id, predicate, categoryManager, intervalManager, predicateManager, predicates, new FlatTree(), schema);
 
-				List<Object> leftValues = new ArrayList<>();
-				List<Object> rightValues = new ArrayList<>();
+		flatTree.trim();
 
-				if(equal != 0){
-					GenmodelBitSet bitSet = new GenmodelBitSet(0);
+		return flatTree;
+	}
 
-					if(equal == 8){
-						bitSet.fill2(compressedTree, byteBuffer);
-					} else
+	// The interval manager is null if unreachable splits are not eliminated
+	static
+	private <B extends TreeBuilder> B decodeTree(SharedTree sharedTree, int rootOffset, Integer id, Predicate predicate, CategoryIndexManager categoryManager, IntervalManager intervalManager, PredicateManager predicateManager, Set<Predicate> predicates, B result, Schema schema){
+		ConversionListener listener = getListener(schema);
+
+		ByteBuffer byteBuffer = sharedTree.getCompressedTreeBuffer()
+			.order(ByteOrder.nativeOrder());
+
+		NodeStack stack = new NodeStack();
+		stack.push(rootOffset, id, false, false, false, predicate, categoryManager, intervalManager, -1, Float.NaN, Float.NaN);
+
+		while(!stack.isEmpty()){
+			int index = stack.pop();
+
+			int offset = stack.offsets[index];
+			int nodeId = (stack.ids[index] >= 0 ? stack.ids[index] : sharedTree.nextId());
+			boolean leaf = stack.leaves[index];
+			boolean auxId = stack.auxIds[index];
+			boolean defaultChild = stack.defaultChildren[index];
+
+			predicate = stack.predicates[index];
+			categoryManager = stack.categoryManagers[index];
+			intervalManager = stack.intervalManagers[index];
 
-					if(equal == 12){
-						bitSet.fill3(compressedTree, byteBuffer);
+			int parent = stack.parents[index];
+
+			// The score and record count of this node, as recorded in the aux info of its parent node
+			float auxScore = stack.auxScores[index];
+			float auxRecordCount = stack.auxRecordCounts[index];
+
+			stack.clear(index);
+
+			int node;
+
+			if(leaf){
+				float score = byteBuffer.getFloat(offset);
+
+				node = result.addLeaf(toNodeId(auxId, nodeId), predicate, parent, defaultChild, score);
+			} else
+
+			{
+				SharedTreeMojoModel.AuxInfo auxInfo = sharedTree.getAuxInfo(nodeId);
+
+				int nodeType = byteBuffer.get(offset) & 0xFF;
+
+				int lmask = (nodeType & 51);
+				int lmask2 = (nodeType & 0xC0) >> 2;
+
+				int equal = (nodeType & 12);
+
+				int colId = byteBuffer.getChar(offset + 1);
+
+				offset += 3;
+
+				if(colId == 65535){
+					float score = byteBuffer.getFloat(offset);
+
+					node = result.addLeaf(toNodeId(auxInfo != null, nodeId), predicate, parent, defaultChild, score);
+				} else
+
+				{
+					int naSplitDir = byteBuffer.get(offset) & 0xFF;
+
+					offset += 1;
+
+					boolean naVsRest = (naSplitDir == NaSplitDir.NAvsREST.value());
+					boolean leftward = (naSplitDir == NaSplitDir.NALeft.value()) || (naSplitDir == NaSplitDir.Left.value());
+
+					Feature feature = schema.getFeature(colId);
+
+					CategoryIndexManager leftCategoryManager = categoryManager;
+					CategoryIndexManager rightCategoryManager = categoryManager;
+
+					IntervalManager leftIntervalManager = intervalManager;
+					IntervalManager rightIntervalManager = intervalManager;
+
+					// Missing values are sent to the default child node
+					boolean leftLive = true;
+					boolean rightLive = true;
+
+					Predicate leftPredicate;
+					Predicate rightPredicate;
+
+					if(naVsRest){
+
+						if(intervalManager != null){
+							IntervalManager.Interval interval = intervalManager.getInterval(feature.getName());
+
+							leftLive = interval.isNonMissingPossible();
+							rightLive = interval.isMissingPossible();
+
+							leftIntervalManager = intervalManager.fork(feature.getName(), interval.notMissing());
+							rightIntervalManager = intervalManager.fork(feature.getName(), interval.missing());
+						}
+
+						synchronized(predicateManager){
+							leftPredicate = predicateManager.createSimplePredicate(feature, SimplePredicate.Operator.IS_NOT_MISSING, null);
+							rightPredicate = predicateManager.createSimplePredicate(feature, SimplePredicate.Operator.IS_MISSING, null);
+
+							countPredicate(leftPredicate, predicates, listener);
+							countPredicate(rightPredicate, predicates, listener);
+						}
 					} else
 
 					{
-						throw new H2OException("Node type " + equal + " is not supported");
-					}
+						if(feature instanceof DiscreteFeature){
+							DiscreteFeature discreteValue = (DiscreteFeature)feature;
+
+							List<?> values = discreteValue.getValues();
+
+							BitSet reachableIndices = categoryManager.getIndices(colId);
+
+							BitSet leftIndices = new BitSet(values.size());
+							BitSet rightIndices = new BitSet(values.size());
+
+							if(equal != 0){
+								BitSet inRangeIndices;
 
-					for(int i = 0; i < values.size(); i++){
-						Object value = values.get(i);
+								if(equal == 8){
+									inRangeIndices = decodeBitSet(byteBuffer, offset, 32, 0, rightIndices, values.size());
 
-						if(!valueFilter.test(value)){
-							continue;
-						} // End if
+									offset += 4;
+								} else
 
-						if(bitSet.isInRange(i)){
+								if(equal == 12){
+									int bitoff = byteBuffer.getChar(offset);
+									int nbits = byteBuffer.getInt(offset + 2);
 
-							if(!bitSet.contains(i)){
-								leftValues.add(value);
+									offset += 6;
+
+									inRangeIndices = decodeBitSet(byteBuffer, offset, nbits, bitoff, rightIndices, values.size());
+
+									offset += ((nbits - 1) >> 3) + 1;
+								} else
+
+								{
+									throw new H2OException("Node type " + equal + " is not supported");
+								}
+
+								// Levels that are in range, but not in the bitset, are sent left
+								leftIndices.or(inRangeIndices);
+								leftIndices.andNot(rightIndices);
+
+								// Levels that are out of range are sent in the default direction
+								BitSet outOfRangeIndices = new BitSet(values.size());
+								outOfRangeIndices.set(0, values.size());
+								outOfRangeIndices.andNot(inRangeIndices);
+
+								if(leftward){
+									leftIndices.or(outOfRangeIndices);
+								} else
+
+								{
+									rightIndices.or(outOfRangeIndices);
+								}
+
+								leftIndices = CategoryIndexManager.restrict(leftIndices, reachableIndices);
+								rightIndices = CategoryIndexManager.restrict(rightIndices, reachableIndices);
 							} else
 
 							{
-								rightValues.add(value);
+								Double splitVal = (double)byteBuffer.getFloat(offset);
+
+								offset += 4;
+
+								// The smallest category index that is not less than the split value
+								int splitIndex = (splitVal.isNaN() ? 0 : (int)Math.max(0d, Math.min(values.size(), Math.ceil(splitVal))));
+
+								leftIndices.set(0, splitIndex);
+								rightIndices.set(splitIndex, values.size());
+
+								leftIndices = CategoryIndexManager.restrict(leftIndices, reachableIndices);
+								rightIndices = CategoryIndexManager.restrict(rightIndices, reachableIndices);
+							}
+
+							leftCategoryManager = leftCategoryManager.fork(colId, leftIndices);
+							rightCategoryManager = rightCategoryManager.fork(colId, rightIndices);
+
+							synchronized(predicateManager){
+								leftPredicate = createPredicate(predicateManager, discreteValue, leftIndices);
+								rightPredicate = createPredicate(predicateManager, discreteValue, rightIndices);
+
+								countPredicate(leftPredicate, predicates, listener);
+								countPredicate(rightPredicate, predicates, listener);
 							}
 						} else
 
 						{
-							if(leftward){
-								leftValues.add(value);
-							} else
+							ContinuousFeature continuousFeature = feature.toContinuousFeature();
 
-							{
-								rightValues.add(value);
+							Double splitVal = (double)byteBuffer.getFloat(offset);
+
+							offset += 4;
+
+							if(intervalManager != null && Double.isFinite(splitVal)){
+								IntervalManager.Interval interval = intervalManager.getInterval(feature.getName());
+
+								leftLive = interval.isLessThanPossible(splitVal) || (leftward && interval.isMissingPossible());
+								rightLive = interval.isGreaterOrEqualPossible(splitVal) || (!leftward && interval.isMissingPossible());
+
+								leftIntervalManager = intervalManager.fork(feature.getName(), interval.lessThan(splitVal, leftward));
+								rightIntervalManager = intervalManager.fork(feature.getName(), interval.greaterOrEqual(splitVal, !leftward));
+							}
+
+							synchronized(predicateManager){
+								leftPredicate = predicateManager.createSimplePredicate(continuousFeature, SimplePredicate.Operator.LESS_THAN, splitVal);
+								rightPredicate = predicateManager.createSimplePredicate(continuousFeature, SimplePredicate.Operator.GREATER_OR_EQUAL, splitVal);
+
+								countPredicate(leftPredicate, predicates, listener);
+								countPredicate(rightPredicate, predicates, listener);
 							}
 						}
 					}
-				} else
 
-				{
-					Double splitVal = (double)byteBuffer.get4f();
+					int leftOffset = offset;
 
-					for(int i = 0; i < values.size(); i++){
-						Object value = values.get(i);
+					if(lmask <= 3){
+						leftOffset += (lmask + 1);
+					}
 
-						if(!valueFilter.test(value)){
-							continue;
-						} // End if
+					int rightOffset = getRightOffset(byteBuffer, offset, lmask);
 
-						if(i < splitVal){
-							leftValues.add(value);
+					int leftId = (auxInfo != null ? auxInfo.nidL : sharedTree.nextId());
+					int rightId = (auxInfo != null ? auxInfo.nidR : -1);
+
+					// The root node does not have a parent node, so its score and record count are aggregated from its own aux info
+					if(auxInfo != null && nodeId == 0){
+						auxRecordCount = (auxInfo.weightL + auxInfo.weightR);
+						auxScore = (auxInfo.predL * auxInfo.weightL + auxInfo.predR * auxInfo.weightR) / auxRecordCount;
+					}
+
+					// Replace the split with its live child node.
+					// The live child node takes the place (predicate, parent, default child status, score and record count) of this node.
+					// The record count of this node is the one that stays consistent with the record counts of its new sibling nodes
+					if(leftLive != rightLive){
+
+						if(leftLive){
+							stack.push(leftOffset, leftId, (lmask & 16) != 0, auxInfo != null, defaultChild, predicate, leftCategoryManager, leftIntervalManager, parent, auxScore, auxRecordCount);
 						} else
 
 						{
-							rightValues.add(value);
+							stack.push(rightOffset, rightId, (lmask2 & 16) != 0, auxInfo != null, defaultChild, predicate, rightCategoryManager, rightIntervalManager, parent, auxScore, auxRecordCount);
 						}
+
+						listener.countIncremented(ConversionListener.Counter.SPLITS_ELIMINATED, 1);
+
+						continue;
+					}
+
+					node = result.addBranch(toNodeId(auxInfo != null, nodeId), predicate, parent, defaultChild);
+
+					// The right child is pushed first, so that it is popped (and assigned an id) after the left child subtree
+					if(auxInfo != null){
+						stack.push(rightOffset, rightId, (lmask2 & 16) != 0, true, !leftward, rightPredicate, rightCategoryManager, rightIntervalManager, node, auxInfo.predR, auxInfo.weightR);
+						stack.push(leftOffset, leftId, (lmask & 16) != 0, true, leftward, leftPredicate, leftCategoryManager, leftIntervalManager, node, auxInfo.predL, auxInfo.weightL);
+					} else
+
+					{
+						stack.push(rightOffset, rightId, (lmask2 & 16) != 0, false, !leftward, rightPredicate, rightCategoryManager, rightIntervalManager, node, Float.NaN, Float.NaN);
+						stack.push(leftOffset, leftId, (lmask & 16) != 0, false, leftward, leftPredicate, leftCategoryManager, leftIntervalManager, node, Float.NaN, Float.NaN);
 					}
 				}
+			} // End if
 
-				leftCategoryManager = leftCategoryManager.fork(name, leftValues);
-				rightCategoryManager = rightCategoryManager.fork(name, rightValues);
+			if(!Float.isNaN(auxRecordCount)){
+				result.setAuxInfo(node, auxScore, auxRecordCount);
+			}
+		}
 
-				leftPredicate = predicateManager.createPredicate(discreteValue, leftValues);
-				rightPredicate = predicateManager.createPredicate(discreteValue, rightValues);
-			} else
+		listener.countIncremented(ConversionListener.Counter.TREES_DECODED, 1);
+		listener.countIncremented(ConversionListener.Counter.NODES_EMITTED, result.size());
+		listener.countIncremented(ConversionListener.Counter.COMPRESSED_TREE_BYTES, byteBuffer.limit());
 
-			{
-				ContinuousFeature continuousFeature = feature.toContinuousFeature();
+		return result;
+	}
 
-				Double splitVal = (double)byteBuffer.get4f();
+	static
+	public Model encodeTreeEnsemble(List<TreeModel> treeModels, Function<List<TreeModel>, MiningModel> ensembleFunction){
 
-				leftPredicate = predicateManager.createSimplePredicate(continuousFeature, SimplePredicate.Operator.LESS_THAN, splitVal);
-				rightPredicate = predicateManager.createSimplePredicate(continuousFeature, SimplePredicate.Operator.GREATER_OR_EQUAL, splitVal);
-			}
+		if(treeModels.size() == 1){
+			return Iterables.getOnlyElement(treeModels);
 		}
 
-		Node leftChild;
+		return ensembleFunction.apply(treeModels);
+	}
 
-		Integer leftId = (auxInfo != null ? auxInfo.nidL : sharedTree.nextId());
+	static
+	public byte[][] getCompressedTrees(SharedTreeMojoModel model){
+		return (byte[][])FIELD_COMPRESSEDTREES.get(model);
+	}
 
-		ByteBufferWrapper leftByteBuffer = new ByteBufferWrapper(compressedTree);
-		leftByteBuffer.skip(byteBuffer.position());
+	static
+	public byte[][] getCompressedTreesAux(SharedTreeMojoModel model){
+		return (byte[][])FIELD_COMPRESSEDTREESAUX.get(model);
+	}
 
-		if(lmask <= 3){
-			leftByteBuffer.skip(lmask + 1);
-		} // End if
+	static
+	public int getNTreeGroups(SharedTreeMojoModel model){
+		return FIELD_NTREEGROUPS.getInt(model);
+	}
 
-		if((lmask & 16) != 0){
-			double score = leftByteBuffer.get4f();
+	static
+	public int getNTreesPerGroup(SharedTreeMojoModel model){
+		return FIELD_NTREESPERGROUP.getInt(model);
+	}
 
-			leftChild = new CountingLeafNode(score, leftPredicate)
-				.setId(toNodeId(auxInfo != null, leftId));
-		} else
+	static
+	private Node encodePlaceholderNode(ByteBuffer byteBuffer, Schema schema){
+		byteBuffer = byteBuffer.duplicate()
+			.order(ByteOrder.nativeOrder());
 
-		{
-			leftChild = encodeNode(sharedTree, leftByteBuffer, leftId, leftPredicate, leftCategoryManager, predicateManager, schema);
-		}
+		BitSet colIds = new BitSet();
 
-		Node rightChild;
+		Deque<Integer> offsets = new ArrayDeque<>();
+		offsets.push(0);
 
-		Integer rightId = (auxInfo != null ? auxInfo.nidR : sharedTree.nextId());
+		while(!offsets.isEmpty()){
+			int offset = offsets.pop();
 
-		ByteBufferWrapper rightByteBuffer = new ByteBufferWrapper(compressedTree);
-		rightByteBuffer.skip(byteBuffer.position());
+			int nodeType = byteBuffer.get(offset) & 0xFF;
 
-		switch(lmask){
-			case 0:
-				rightByteBuffer.skip(rightByteBuffer.get1U());
-				break;
-			case 1:
-				rightByteBuffer.skip(rightByteBuffer.get2());
-				break;
-			case 2:
-				rightByteBuffer.skip(rightByteBuffer.get3());
-				break;
-			case 3:
-				rightByteBuffer.skip(rightByteBuffer.get4());
-				break;
-			case 48:
-				rightByteBuffer.skip(4);
-				break;
-			default:
-				throw new H2OException("Node type " + lmask + " is not supported");
-		}
+			int lmask = (nodeType & 51);
+			int lmask2 = (nodeType & 0xC0) >> 2;
 
-		if((lmask2 & 16) != 0){
-			double score = rightByteBuffer.get4f();
+			int equal = (nodeType & 12);
 
-			rightChild = new CountingLeafNode(score, rightPredicate)
-				.setId(toNodeId(auxInfo != null, rightId));
-		} else
+			int colId = byteBuffer.getChar(offset + 1);
 
-		{
-			rightChild = encodeNode(sharedTree, rightByteBuffer, rightId, rightPredicate, rightCategoryManager, predicateManager, schema);
-		} // End if
+			if(colId == 65535){
+				continue;
+			}
 
-		if(auxInfo != null){
-			sharedTree.encodeAuxInfo(leftChild, auxInfo.predL, auxInfo.weightL);
-			sharedTree.encodeAuxInfo(rightChild, auxInfo.predR, auxInfo.weightR);
-		}
+			colIds.set(colId);
+
+			int naSplitDir = byteBuffer.get(offset + 3) & 0xFF;
+
+			offset += 4;
 
-		Node result = new CountingBranchNode(null, predicate)
-			.setId(toNodeId(auxInfo != null, id))
-			.setDefaultChild(leftward ? leftChild.getId() : rightChild.getId())
-			.addNodes(leftChild, rightChild);
+			if(naSplitDir != NaSplitDir.NAvsREST.value()){
 
-		if(auxInfo != null){
+				switch(equal){
+					case 0:
+					case 8:
+						offset += 4;
+						break;
+					case 12:
+						offset += 6 + ((byteBuffer.getInt(offset + 2) - 1) >> 3) + 1;
+						break;
+					default:
+						throw new H2OException("Node type " + equal + " is not supported");
+				}
+			}
 
-			if(id == 0){
-				float weight = (auxInfo.weightL + auxInfo.weightR);
+			if((lmask2 & 16) == 0){
+				offsets.push(getRightOffset(byteBuffer, offset, lmask));
+			} // End if
 
-				sharedTree.encodeAuxInfo(result, (auxInfo.predL * auxInfo.weightL + auxInfo.predR * auxInfo.weightR) / weight, weight);
+			if((lmask & 16) == 0){
+				offsets.push(offset + (lmask + 1));
 			}
 		}
 
+		CountingBranchNode result = new CountingBranchNode(null, True.INSTANCE);
+
+		for(int colId = colIds.nextSetBit(0); colId > -1; colId = colIds.nextSetBit(colId + 1)){
+			Feature feature = schema.getFeature(colId);
+
+			Node node = new CountingLeafNode(null, new SimplePredicate(feature.getName(), SimplePredicate.Operator.IS_MISSING, null));
+
+			result.addNodes(node);
+		}
+
 		return result;
 	}
 
 	static
-	public Model encodeTreeEnsemble(List<TreeModel> treeModels, Function<List<TreeModel>, MiningModel> ensembleFunction){
+	private ConversionListener getListener(Schema schema){
+		ModelEncoder encoder = schema.getEncoder();
 
-		if(treeModels.size() == 1){
-			return Iterables.getOnlyElement(treeModels);
+		if(encoder instanceof H2OEncoder){
+			H2OEncoder h2oEncoder = (H2OEncoder)encoder;
+
+			return h2oEncoder.getListener();
 		}
 
-		return ensembleFunction.apply(treeModels);
+		return ConversionListener.NONE;
 	}
 
 	static
-	public byte[][] getCompressedTrees(SharedTreeMojoModel model){
-		return (byte[][])getFieldValue(FIELD_COMPRESSEDTREES, model);
+	private Predicate createPredicate(PredicateManager predicateManager, DiscreteFeature discreteFeature, BitSet indices){
+
+		if(predicateManager instanceof H2OPredicateManager){
+			H2OPredicateManager h2oPredicateManager = (H2OPredicateManager)predicateManager;
+
+			return h2oPredicateManager.createPredicate(discreteFeature, indices);
+		}
+
+		List<Object> values = H2OPredicateManager.selectValues(discreteFeature, indices);
+
+		return predicateManager.createPredicate(discreteFeature, values);
 	}
 
 	static
-	public byte[][] getCompressedTreesAux(SharedTreeMojoModel model){
-		return (byte[][])getFieldValue(FIELD_COMPRESSEDTREESAUX, model);
+	private void countPredicate(Predicate predicate, Set<Predicate> predicates, ConversionListener listener){
+
+		if(listener == ConversionListener.NONE){
+			return;
+		} // End if
+
+		if(predicates.add(predicate)){
+			listener.countIncremented(ConversionListener.Counter.PREDICATES_CREATED, 1);
+		} else
+
+		{
+			listener.countIncremented(ConversionListener.Counter.PREDICATES_REUSED, 1);
+		}
 	}
 
 	static
-	public int getNTreeGroups(SharedTreeMojoModel model){
-		return (int)getFieldValue(FIELD_NTREEGROUPS, model);
+	private int getRightOffset(ByteBuffer byteBuffer, int offset, int lmask){
+
+		switch(lmask){
+			case 0:
+				return offset + 1 + (byteBuffer.get(offset) & 0xFF);
+			case 1:
+				return offset + 2 + byteBuffer.getChar(offset);
+			case 2:
+				return offset + 3 + ((byteBuffer.get(offset) & 0xFF) | (byteBuffer.get(offset + 1) & 0xFF) << 8 | (byteBuffer.get(offset + 2) & 0xFF) << 16);
+			case 3:
+				return offset + 4 + byteBuffer.getInt(offset);
+			case 48:
+				return offset + 4;
+			default:
+				throw new H2OException("Node type " + lmask + " is not supported");
+		}
 	}
 
+	// Decodes the set bits of a GenmodelBitSet into category indices.
+	// Returns the set of category indices that are in range
 	static
-	public int getNTreesPerGroup(SharedTreeMojoModel model){
-		return (int)getFieldValue(FIELD_NTREESPERGROUP, model);
+	private BitSet decodeBitSet(ByteBuffer byteBuffer, int offset, int nbits, int bitoff, BitSet indices, int size){
+		int nbytes = ((nbits - 1) >> 3) + 1;
+
+		ByteBuffer bitsBuffer = byteBuffer.duplicate();
+		bitsBuffer.limit(offset + nbytes);
+		bitsBuffer.position(offset);
+
+		BitSet bits = BitSet.valueOf(bitsBuffer);
+
+		for(int i = bits.nextSetBit(0); i > -1 && i < nbits && (bitoff + i) < size; i = bits.nextSetBit(i + 1)){
+			indices.set(bitoff + i);
+		}
+
+		BitSet result = new BitSet(size);
+		result.set(Math.min(bitoff, size), (int)Math.min((long)bitoff + nbits, size));
+
+		return result;
 	}
 
 	static
-	private Integer toNodeId(boolean hasAux, Integer id){
+	private int toNodeId(boolean hasAux, int id){
 		return (hasAux ? id : id + 1);
 	}
 
-	private static final Field FIELD_COMPRESSEDTREES;
-	private static final Field FIELD_COMPRESSEDTREESAUX;
-	private static final Field FIELD_NTREEGROUPS;
-	private static final Field FIELD_NTREESPERGROUP;
+	private static final FieldAccessor FIELD_COMPRESSEDTREES = new FieldAccessor(SharedTreeMojoModel.class, "_compressed_trees");
+	private static final FieldAccessor FIELD_COMPRESSEDTREESAUX = new FieldAccessor(SharedTreeMojoModel.class, "_compressed_trees_aux");
+	private static final FieldAccessor FIELD_NTREEGROUPS = new FieldAccessor(SharedTreeMojoModel.class, "_ntree_groups");
+	private static final FieldAccessor FIELD_NTREESPERGROUP = new FieldAccessor(SharedTreeMojoModel.class, "_ntrees_per_group");
 
-	static {
+	static
+	private class NodeStack {
 
-		try {
-			FIELD_COMPRESSEDTREES = SharedTreeMojoModel.class.getDeclaredField("_compressed_trees");
-			FIELD_COMPRESSEDTREESAUX = SharedTreeMojoModel.class.getDeclaredField("_compressed_trees_aux");
-			FIELD_NTREEGROUPS = SharedTreeMojoModel.class.getDeclaredField("_ntree_groups");
-			FIELD_NTREESPERGROUP = SharedTreeMojoModel.class.getDeclaredField("_ntrees_per_group");
-		} catch(ReflectiveOperationException roe){
-			throw new RuntimeException(roe);
+		private int size = 0;
+
+		private int[] offsets = new int[0];
+
+		private int[] ids = new int[0];
+
+		private boolean[] leaves = new boolean[0];
+
+		private boolean[] auxIds = new boolean[0];
+
+		private boolean[] defaultChildren = new boolean[0];
+
+		private Predicate[] predicates = new Predicate[0];
+
+		private CategoryIndexManager[] categoryManagers = new CategoryIndexManager[0];
+
+		private IntervalManager[] intervalManagers = new IntervalManager[0];
+
+		private int[] parents = new int[0];
+
+		private float[] auxScores = new float[0];
+
+		private float[] auxRecordCounts = new float[0];
+
+
+		public boolean isEmpty(){
+			return (this.size == 0);
+		}
+
+		public void push(int offset, int id, boolean leaf, boolean auxId, boolean defaultChild, Predicate predicate, CategoryIndexManager categoryManager, IntervalManager intervalManager, int parent, float auxScore, float auxRecordCount){
+			int index = this.size;
+
+			if(index == this.offsets.length){
+				int capacity = Math.max(2 * index, 16);
+
+				this.offsets = Arrays.copyOf(this.offsets, capacity);
+				this.ids = Arrays.copyOf(this.ids, capacity);
+				this.leaves = Arrays.copyOf(this.leaves, capacity);
+				this.auxIds = Arrays.copyOf(this.auxIds, capacity);
+				this.defaultChildren = Arrays.copyOf(this.defaultChildren, capacity);
+				this.predicates = Arrays.copyOf(this.predicates, capacity);
+				this.categoryManagers = Arrays.copyOf(this.categoryManagers, capacity);
+				this.intervalManagers = Arrays.copyOf(this.intervalManagers, capacity);
+				this.parents = Arrays.copyOf(this.parents, capacity);
+				this.auxScores = Arrays.copyOf(this.auxScores, capacity);
+				this.auxRecordCounts = Arrays.copyOf(this.auxRecordCounts, capacity);
+			}
+
+			this.offsets[index] = offset;
+			this.ids[index] = id;
+			this.leaves[index] = leaf;
+			this.auxIds[index] = auxId;
+			this.defaultChildren[index] = defaultChild;
+			this.predicates[index] = predicate;
+			this.categoryManagers[index] = categoryManager;
+			this.intervalManagers[index] = intervalManager;
+			this.parents[index] = parent;
+			this.auxScores[index] = auxScore;
+			this.auxRecordCounts[index] = auxRecordCount;
+
+			this.size++;
+		}
+
+		public int pop(){
+			return --this.size;
+		}
+
+		public void clear(int index){
+			this.predicates[index] = null;
+			this.categoryManagers[index] = null;
+			this.intervalManagers[index] = null;
 		}
 	}
 }
\ No newline at end of file
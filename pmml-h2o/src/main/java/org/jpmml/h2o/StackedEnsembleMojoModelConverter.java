@@ -18,13 +18,14 @@
  */
 package org.jpmml.h2o;
 
-import java.lang.reflect.Field;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
 
 import hex.genmodel.MojoModel;
 import hex.genmodel.algos.ensemble.StackedEnsembleMojoModel;
-import hex.genmodel.algos.tree.SharedTreeMojoModel;
 import org.dmg.pmml.DataType;
 import org.dmg.pmml.Model;
 import org.dmg.pmml.OpType;
@@ -49,7 +50,9 @@ public class StackedEnsembleMojoModelConverter extends Converter<StackedEnsemble
 	public Schema encodeSchema(H2OEncoder encoder){
 		StackedEnsembleMojoModel model = getModel();
 
-		ConverterFactory converterFactory = ConverterFactory.newConverterFactory();
+		// Base models are converted one at a time, because they share the encoder.
+		// The "parallelism" option is passed on, so that the decision trees of each base model are decoded in parallel
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory(getOptions());
 
 		Schema schema = super.encodeSchema(encoder);
 
@@ -58,26 +61,44 @@ public class StackedEnsembleMojoModelConverter extends Converter<StackedEnsemble
 
 		Schema segmentSchema = schema.toAnonymousSchema();
 
+		// Data fields are shared between base models.
+		// Base model specific transformations must be encoded as derived fields
+		encoder.setSharedSchema(true);
+
 		Object[] baseModels = getBaseModels(model);
+
+		Model[] segmentModels = new Model[baseModels.length];
+
 		for(int i = 0; i < baseModels.length; i++){
 			Object baseModel = baseModels[i];
 
 			MojoModel mojoModel = getMojoModel(baseModel);
 			int[] mapping = getMapping(baseModel);
 
-			if(!(mojoModel instanceof SharedTreeMojoModel)){
-				throw new H2OException("Stacking of models other than decision tree models is not supported");
+			if(mojoModel instanceof StackedEnsembleMojoModel){
+				throw new H2OException("Stacking of stacked ensemble models is not supported");
 			} // End if
 
+			Schema mappedSchema = segmentSchema;
+
+			// The base model sees a re-indexed view of the shared features
 			if(mapping != null && !isSequential(mapping)){
-				throw new H2OException("Feature re-indexing is not supported");
+				List<? extends Feature> segmentFeatures = segmentSchema.getFeatures();
+
+				mappedSchema = new Schema(encoder, segmentSchema.getLabel(), new MappedFeatureList(segmentFeatures, mapping));
 			}
 
-			Converter<?> converter = converterFactory.newConverter(mojoModel);
+			Converter<?> converter = converterFactory.newConverter(mojoModel, getBlobSource());
 
-			Schema baseModelSchema = converter.toMojoModelSchema(segmentSchema);
+			Schema baseModelSchema = converter.toMojoModelSchema(mappedSchema);
 
-			Model segmentModel = converter.encodeModel(baseModelSchema);
+			segmentModels[i] = converter.encodeModel(baseModelSchema);
+		}
+
+		encoder.setSharedSchema(false);
+
+		for(int i = 0; i < segmentModels.length; i++){
+			Model segmentModel = segmentModels[i];
 
 			if(model._nclasses == 1){
 				ContinuousLabel continuousLabel = schema.requireContinuousLabel();
@@ -120,14 +141,14 @@ public class StackedEnsembleMojoModelConverter extends Converter<StackedEnsemble
 	public Model encodeModel(Schema schema){
 		StackedEnsembleMojoModel model = getModel();
 
-		ConverterFactory converterFactory = ConverterFactory.newConverterFactory();
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory(getOptions());
 
 		MojoModel metaLearner = getMetaLearner(model);
 		if(metaLearner == null){
 			throw new IllegalArgumentException();
 		}
 
-		Converter<?> converter = converterFactory.newConverter(metaLearner);
+		Converter<?> converter = converterFactory.newConverter(metaLearner, getBlobSource());
 
 		Schema metaLearnerSchema = converter.toMojoModelSchema(schema);
 
@@ -136,22 +157,22 @@ public class StackedEnsembleMojoModelConverter extends Converter<StackedEnsemble
 
 	static
 	public Object[] getBaseModels(StackedEnsembleMojoModel model){
-		return (Object[])getFieldValue(StackedEnsembleMojoModelConverter.FIELD_BASEMODELS, model);
+		return (Object[])StackedEnsembleMojoModelConverter.FIELD_BASEMODELS.get(model);
 	}
 
 	static
 	public MojoModel getMetaLearner(StackedEnsembleMojoModel model){
-		return (MojoModel)getFieldValue(StackedEnsembleMojoModelConverter.FIELD_METALEARNER, model);
+		return (MojoModel)StackedEnsembleMojoModelConverter.FIELD_METALEARNER.get(model);
 	}
 
 	static
 	public MojoModel getMojoModel(Object baseModel){
-		return (MojoModel)getFieldValue(StackedEnsembleMojoModelConverter.FIELD_MOJOMODEL, baseModel);
+		return (MojoModel)StackedEnsembleMojoModelConverter.FIELD_MOJOMODEL.get(baseModel);
 	}
 
 	static
 	public int[] getMapping(Object baseModel){
-		return (int[])getFieldValue(StackedEnsembleMojoModelConverter.FIELD_MAPPING, baseModel);
+		return (int[])StackedEnsembleMojoModelConverter.FIELD_MAPPING.get(baseModel);
 	}
 
 	static
@@ -167,40 +188,40 @@ public class StackedEnsembleMojoModelConverter extends Converter<StackedEnsemble
 		return true;
 	}
 
-	private static final Field FIELD_BASEMODELS;
-	private static final Field FIELD_METALEARNER;
+	private static final FieldAccessor FIELD_BASEMODELS = new FieldAccessor(StackedEnsembleMojoModel.class, "_baseModels");
+	private static final FieldAccessor FIELD_METALEARNER = new FieldAccessor(StackedEnsembleMojoModel.class, "_metaLearner");
 
-	static {
+	private static final FieldAccessor FIELD_MOJOMODEL = new FieldAccessor("hex.genmodel.algos.ensemble.StackedEnsembleMojoModel$StackedEnsembleMojoSubModel", "_mojoModel");
+	private static final FieldAccessor FIELD_MAPPING = new FieldAccessor("hex.genmodel.algos.ensemble.StackedEnsembleMojoModel$StackedEnsembleMojoSubModel", "_mapping");
 
-		try {
-			FIELD_BASEMODELS = StackedEnsembleMojoModel.class.getDeclaredField("_baseModels");
-			FIELD_METALEARNER = StackedEnsembleMojoModel.class.getDeclaredField("_metaLearner");
-		} catch(ReflectiveOperationException roe){
-			throw new RuntimeException(roe);
-		}
-	}
+	static
+	private class MappedFeatureList extends AbstractList<Feature> implements RandomAccess {
 
-	private static final Class<?> CLASS_STACKEDENSEMBLESUBMODEL;
+		private List<? extends Feature> features = null;
 
-	static {
+		private int[] mapping = null;
 
-		try {
-			CLASS_STACKEDENSEMBLESUBMODEL = getDeclaredClass(StackedEnsembleMojoModel.class, "StackedEnsembleMojoSubModel");
-		} catch(ReflectiveOperationException roe){
-			throw new RuntimeException(roe);
-		}
-	}
 
-	private static final Field FIELD_MOJOMODEL;
-	private static final Field FIELD_MAPPING;
+		private MappedFeatureList(List<? extends Feature> features, int[] mapping){
+			this.features = Objects.requireNonNull(features);
+			this.mapping = Objects.requireNonNull(mapping);
 
-	static {
+			for(int index : mapping){
+
+				if(index < 0 || index >= features.size()){
+					throw new H2OException("Feature index " + index + " is out of range");
+				}
+			}
+		}
+
+		@Override
+		public Feature get(int index){
+			return this.features.get(this.mapping[index]);
+		}
 
-		try {
-			FIELD_MOJOMODEL = CLASS_STACKEDENSEMBLESUBMODEL.getDeclaredField("_mojoModel");
-			FIELD_MAPPING = CLASS_STACKEDENSEMBLESUBMODEL.getDeclaredField("_mapping");
-		} catch(ReflectiveOperationException roe){
-			throw new RuntimeException(roe);
+		@Override
+		public int size(){
+			return this.mapping.length;
 		}
 	}
-}
\ No newline at end of file
+}
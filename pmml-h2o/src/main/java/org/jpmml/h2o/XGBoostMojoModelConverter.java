@@ -18,9 +18,9 @@
  */
 package org.jpmml.h2o;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -85,11 +85,14 @@ public class XGBoostMojoModelConverter extends Converter<XGBoostMojoModel> {
 	public Model encodeModel(Schema schema){
 		XGBoostMojoModel model = getModel();
 
+		BlobSource blobSource = getBlobSource();
+
 		byte[] boosterBytes = model.getBoosterBytes();
 
 		Learner learner;
 
-		try(InputStream is = new ByteArrayInputStream(boosterBytes)){
+		// The booster blob of a memory-mapped MOJO file is streamed directly from the ZIP entry
+		try(InputStream is = blobSource.getInputStream(boosterBytes)){
 			learner = XGBoostUtil.loadLearner(is);
 		} catch(IOException ioe){
 			throw new H2OException("Failed to load XGBoost booster object", ioe);
@@ -99,8 +102,28 @@ public class XGBoostMojoModelConverter extends Converter<XGBoostMojoModel> {
 		options.put(HasXGBoostOptions.OPTION_COMPACT, Boolean.TRUE);
 		options.put(HasXGBoostOptions.OPTION_NUMERIC, Boolean.TRUE);
 
+		options.putAll(getXGBoostOptions());
+
 		Schema xgbSchema = learner.toXGBoostSchema(schema);
 
 		return learner.encodeModel(options, xgbSchema);
 	}
+
+	private Map<String, ?> getXGBoostOptions(){
+		Map<String, ?> options = getOptions();
+
+		Map<String, Object> result = new LinkedHashMap<>();
+
+		// XGBoost options are namespaced, because they share names such as "compact" with H2O options
+		Collection<? extends Map.Entry<String, ?>> entries = options.entrySet();
+		for(Map.Entry<String, ?> entry : entries){
+			String key = entry.getKey();
+
+			if(key.startsWith(HasH2OOptions.OPTION_XGBOOST_PREFIX)){
+				result.put(key.substring(HasH2OOptions.OPTION_XGBOOST_PREFIX.length()), entry.getValue());
+			}
+		}
+
+		return result;
+	}
 }
\ No newline at end of file
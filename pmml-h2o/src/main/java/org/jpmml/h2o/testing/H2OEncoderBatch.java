@@ -19,6 +19,8 @@
 package org.jpmml.h2o.testing;
 
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import com.google.common.base.Equivalence;
@@ -41,6 +43,10 @@ public class H2OEncoderBatch extends ModelEncoderBatch {
 	abstract
 	public H2OEncoderBatchTest getArchiveBatchTest();
 
+	public Map<String, ?> getConverterOptions(){
+		return Collections.emptyMap();
+	}
+
 	public String getMojoPath(){
 		return "/mojo/" + (getAlgorithm() + getDataset()) + ".zip";
 	}
@@ -53,7 +59,7 @@ public class H2OEncoderBatch extends ModelEncoderBatch {
 			mojoModel = MojoModelUtil.readFrom(is);
 		}
 
-		ConverterFactory converterFactory = ConverterFactory.newConverterFactory();
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory(getConverterOptions());
 
 		Converter<?> converter = converterFactory.newConverter(mojoModel);
 
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.testing;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jpmml.h2o.BlobSource;
+import org.jpmml.h2o.ByteBufferMojoReaderBackend;
+import org.jpmml.h2o.MappedMojoReaderBackend;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ByteBufferMojoReaderBackendTest {
+
+	@Test
+	public void readStored() throws Exception {
+		byte[] bytes = createBytes(1000);
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try(ZipOutputStream zos = new ZipOutputStream(os)){
+			zos.putNextEntry(createEntry("stored.bin", ZipEntry.STORED, bytes));
+			zos.write(bytes);
+			zos.closeEntry();
+		}
+
+		ByteBufferMojoReaderBackend backend = new ByteBufferMojoReaderBackend(os.toByteArray());
+
+		checkEntry(backend, "stored.bin", bytes);
+
+		// Stored entries are exposed as views of the archive buffer
+		ByteBuffer buffer = backend.getEntryBuffer("stored.bin");
+
+		assertTrue(buffer.isReadOnly());
+	}
+
+	@Test
+	public void readDeflated() throws Exception {
+		byte[] bytes = createBytes(100000);
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try(ZipOutputStream zos = new ZipOutputStream(os)){
+			zos.putNextEntry(createEntry("deflated.bin", ZipEntry.DEFLATED, bytes));
+			zos.write(bytes);
+			zos.closeEntry();
+		}
+
+		ByteBufferMojoReaderBackend backend = new ByteBufferMojoReaderBackend(os.toByteArray());
+
+		checkEntry(backend, "deflated.bin", bytes);
+	}
+
+	@Test
+	public void readDataDescriptor() throws Exception {
+		byte[] firstBytes = createBytes(5000);
+		byte[] secondBytes = createBytes(7000);
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		// Entry sizes and checksums are not known in advance, so they are written into data descriptors after entry data
+		try(ZipOutputStream zos = new ZipOutputStream(os)){
+			zos.putNextEntry(new ZipEntry("first.bin"));
+			zos.write(firstBytes);
+			zos.closeEntry();
+
+			zos.putNextEntry(new ZipEntry("second.bin"));
+			zos.write(secondBytes);
+			zos.closeEntry();
+		}
+
+		byte[] zipBytes = os.toByteArray();
+
+		// General purpose bit flag 3
+		assertEquals(0x08, ByteBuffer.wrap(zipBytes).order(ByteOrder.LITTLE_ENDIAN).getShort(6) & 0x08);
+
+		ByteBufferMojoReaderBackend backend = new ByteBufferMojoReaderBackend(zipBytes);
+
+		checkEntry(backend, "first.bin", firstBytes);
+		checkEntry(backend, "second.bin", secondBytes);
+	}
+
+	@Test
+	public void readDirectory() throws Exception {
+		byte[] bytes = "[info]\nalgorithm = Gradient Boosting Machine\n".getBytes(StandardCharsets.UTF_8);
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try(ZipOutputStream zos = new ZipOutputStream(os)){
+			zos.putNextEntry(new ZipEntry("experimental/"));
+			zos.closeEntry();
+
+			zos.putNextEntry(new ZipEntry("experimental/model.ini"));
+			zos.write(bytes);
+			zos.closeEntry();
+		}
+
+		ByteBufferMojoReaderBackend backend = new ByteBufferMojoReaderBackend(os.toByteArray());
+
+		assertFalse(backend.exists("experimental/"));
+		assertFalse(backend.exists("experimental"));
+
+		checkEntry(backend, "experimental/model.ini", bytes);
+
+		try(BufferedReader reader = backend.getTextFile("experimental/model.ini")){
+			assertEquals("[info]", reader.readLine());
+			assertEquals("algorithm = Gradient Boosting Machine", reader.readLine());
+		}
+	}
+
+	@Test
+	public void readMalformed() throws Exception {
+		assertThrows(IOException.class, () -> new ByteBufferMojoReaderBackend(new byte[0]));
+		assertThrows(IOException.class, () -> new ByteBufferMojoReaderBackend(createBytes(1000)));
+
+		byte[] bytes = createBytes(1000);
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try(ZipOutputStream zos = new ZipOutputStream(os)){
+			zos.putNextEntry(createEntry("stored.bin", ZipEntry.STORED, bytes));
+			zos.write(bytes);
+			zos.closeEntry();
+		}
+
+		byte[] zipBytes = os.toByteArray();
+
+		// Truncated end of central directory record
+		assertThrows(IOException.class, () -> new ByteBufferMojoReaderBackend(Arrays.copyOf(zipBytes, zipBytes.length - 10)));
+
+		int endOffset = zipBytes.length - 22;
+
+		// Central directory offset past the end of the archive
+		byte[] invalidDirectoryBytes = zipBytes.clone();
+
+		ByteBuffer.wrap(invalidDirectoryBytes).order(ByteOrder.LITTLE_ENDIAN).putInt(endOffset + 16, zipBytes.length + 100);
+
+		assertThrows(IOException.class, () -> new ByteBufferMojoReaderBackend(invalidDirectoryBytes));
+
+		// Local file header signature mismatch
+		byte[] invalidHeaderBytes = zipBytes.clone();
+
+		invalidHeaderBytes[0] = 0;
+
+		ByteBufferMojoReaderBackend backend = new ByteBufferMojoReaderBackend(invalidHeaderBytes);
+
+		assertTrue(backend.exists("stored.bin"));
+
+		assertThrows(IOException.class, () -> backend.getBinaryFile("stored.bin"));
+		assertThrows(IOException.class, () -> backend.getBinaryFile("missing.bin"));
+	}
+
+	@Test
+	public void readZip64() throws Exception {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		// More than 65535 entries forces a ZIP64 end of central directory record
+		int count = 0xFFFF + 10;
+
+		try(ZipOutputStream zos = new ZipOutputStream(os)){
+
+			for(int i = 0; i < count; i++){
+				zos.putNextEntry(new ZipEntry("entries/" + i + ".txt"));
+				zos.write(String.valueOf(i).getBytes(StandardCharsets.UTF_8));
+				zos.closeEntry();
+			}
+		}
+
+		ByteBufferMojoReaderBackend backend = new ByteBufferMojoReaderBackend(os.toByteArray());
+
+		assertTrue(backend.exists("entries/0.txt"));
+		assertTrue(backend.exists("entries/" + (count - 1) + ".txt"));
+
+		assertArrayEquals(String.valueOf(count - 1).getBytes(StandardCharsets.UTF_8), backend.getBinaryFile("entries/" + (count - 1) + ".txt"));
+	}
+
+	@Test
+	public void readBlobs() throws Exception {
+		byte[] treeBytes = createBytes(1000);
+		byte[] domainBytes = createBytes(10);
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try(ZipOutputStream zos = new ZipOutputStream(os)){
+			zos.putNextEntry(new ZipEntry("trees/t00_000.bin"));
+			zos.write(treeBytes);
+			zos.closeEntry();
+
+			zos.putNextEntry(new ZipEntry("domains/d000.txt"));
+			zos.write(domainBytes);
+			zos.closeEntry();
+		}
+
+		MappedMojoReaderBackend backend = new MappedMojoReaderBackend(ByteBuffer.wrap(os.toByteArray()));
+
+		BlobSource blobSource = backend.getBlobSource();
+
+		// Decision tree blobs are deferred
+		byte[] treeBlob = backend.getBinaryFile("trees/t00_000.bin");
+
+		assertEquals(0, treeBlob.length);
+
+		assertArrayEquals(treeBytes, blobSource.getBytes(treeBlob));
+		assertArrayEquals(treeBytes, toBytes(blobSource.getBuffer(treeBlob)));
+
+		try(InputStream is = blobSource.getInputStream(treeBlob)){
+			assertArrayEquals(treeBytes, is.readAllBytes());
+		}
+
+		// Other files are loaded eagerly, and resolve to themselves
+		byte[] domainBlob = backend.getBinaryFile("domains/d000.txt");
+
+		assertArrayEquals(domainBytes, domainBlob);
+		assertSame(domainBlob, blobSource.getBytes(domainBlob));
+
+		// Placeholders are not resolvable by other blob sources
+		BlobSource otherBlobSource = new MappedMojoReaderBackend(ByteBuffer.wrap(os.toByteArray())).getBlobSource();
+
+		assertEquals(0, otherBlobSource.getBytes(treeBlob).length);
+	}
+
+	static
+	private void checkEntry(ByteBufferMojoReaderBackend backend, String name, byte[] bytes) throws Exception {
+		assertTrue(backend.exists(name));
+
+		assertArrayEquals(bytes, backend.getBinaryFile(name));
+
+		assertArrayEquals(bytes, toBytes(backend.getEntryBuffer(name)));
+
+		try(InputStream is = backend.getEntryInputStream(name)){
+			assertArrayEquals(bytes, is.readAllBytes());
+		}
+	}
+
+	static
+	private byte[] toBytes(ByteBuffer buffer){
+		byte[] result = new byte[buffer.remaining()];
+
+		buffer.get(result);
+
+		return result;
+	}
+
+	static
+	private ZipEntry createEntry(String name, int method, byte[] bytes){
+		ZipEntry result = new ZipEntry(name);
+		result.setMethod(method);
+
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+
+		result.setCrc(crc.getValue());
+		result.setSize(bytes.length);
+
+		switch(method){
+			case ZipEntry.STORED:
+				result.setCompressedSize(bytes.length);
+				break;
+			case ZipEntry.DEFLATED:
+				result.setCompressedSize(deflate(bytes).length);
+				break;
+			default:
+				throw new IllegalArgumentException();
+		}
+
+		return result;
+	}
+
+	static
+	private byte[] deflate(byte[] bytes){
+		// Same configuration as ZipOutputStream
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+		try {
+			deflater.setInput(bytes);
+			deflater.finish();
+
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+			byte[] buffer = new byte[4096];
+
+			while(!deflater.finished()){
+				int count = deflater.deflate(buffer);
+
+				os.write(buffer, 0, count);
+			}
+
+			return os.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	static
+	private byte[] createBytes(int length){
+		byte[] result = new byte[length];
+
+		// Compressible, but not trivially so
+		for(int i = 0; i < length; i++){
+			result[i] = (byte)((i * 31) % 251 + (i / 1000));
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.testing;
+
+import java.util.BitSet;
+
+import org.jpmml.h2o.CategoryIndexManager;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CategoryIndexManagerTest {
+
+	@Test
+	public void fork(){
+		CategoryIndexManager categoryManager = new CategoryIndexManager();
+
+		assertNull(categoryManager.getIndices(0));
+		assertTrue(categoryManager.isReachable(0, 0));
+
+		BitSet indices = new BitSet();
+		indices.set(1);
+
+		CategoryIndexManager leftCategoryManager = categoryManager.fork(0, indices);
+
+		assertSame(indices, leftCategoryManager.getIndices(0));
+		assertFalse(leftCategoryManager.isReachable(0, 0));
+		assertTrue(leftCategoryManager.isReachable(0, 1));
+
+		// Forking does not affect the parent
+		assertNull(categoryManager.getIndices(0));
+
+		// Forking with an equal bitset is a no-op
+		assertSame(leftCategoryManager, leftCategoryManager.fork(0, (BitSet)indices.clone()));
+
+		BitSet otherIndices = new BitSet();
+		otherIndices.set(2);
+
+		CategoryIndexManager rightCategoryManager = leftCategoryManager.fork(65535, otherIndices);
+
+		assertSame(indices, rightCategoryManager.getIndices(0));
+		assertSame(otherIndices, rightCategoryManager.getIndices(65535));
+
+		assertNull(leftCategoryManager.getIndices(65535));
+		assertNull(rightCategoryManager.getIndices(15));
+		assertNull(rightCategoryManager.getIndices(4096));
+
+		assertThrows(IllegalArgumentException.class, () -> categoryManager.getIndices(65536));
+	}
+}
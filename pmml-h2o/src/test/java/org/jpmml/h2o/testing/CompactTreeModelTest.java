@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.testing;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.google.common.base.Equivalence;
+import org.jpmml.converter.testing.Datasets;
+import org.jpmml.evaluator.ResultField;
+import org.jpmml.evaluator.testing.PMMLEquivalence;
+import org.jpmml.h2o.HasH2OOptions;
+import org.junit.jupiter.api.Test;
+
+public class CompactTreeModelTest extends H2OEncoderBatchTest implements Datasets, H2OFields {
+
+	public CompactTreeModelTest(){
+		super(new PMMLEquivalence(1e-13, 1e-13));
+	}
+
+	@Override
+	public H2OEncoderBatch createBatch(String algorithm, String dataset, Predicate<ResultField> columnFilter, Equivalence<Object> equivalence){
+		H2OEncoderBatch result = new H2OEncoderBatch(algorithm, dataset, columnFilter, equivalence){
+
+			@Override
+			public CompactTreeModelTest getArchiveBatchTest(){
+				return CompactTreeModelTest.this;
+			}
+
+			@Override
+			public Map<String, ?> getConverterOptions(){
+				return Collections.singletonMap(HasH2OOptions.OPTION_COMPACT, Boolean.TRUE);
+			}
+		};
+
+		return result;
+	}
+
+	@Test
+	public void evaluateGBMAuditNA() throws Exception {
+		evaluate("GBM", AUDIT_NA, excludeFields(AUDIT_DEFAULTCALIBRATION_ADJUSTED));
+	}
+
+	@Test
+	public void evaluateGBMIris() throws Exception {
+		evaluate("GBM", IRIS);
+	}
+
+	@Test
+	public void evaluateRandomForestAuditNA() throws Exception {
+		evaluate("RandomForest", AUDIT_NA, excludeFields(AUDIT_DEFAULTCALIBRATION_ADJUSTED));
+	}
+
+	@Test
+	public void evaluateRandomForestAutoNA() throws Exception {
+		evaluate("RandomForest", AUTO_NA);
+	}
+
+	@Test
+	public void evaluateRandomForestBitSet() throws Exception {
+		evaluate("RandomForest", "BitSet");
+	}
+
+	@Test
+	public void evaluateIsolationForestHousing() throws Exception {
+		evaluate("IsolationForest", HOUSING, excludeFields("meanPathLength"));
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.testing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.Collections;
+
+import org.jpmml.h2o.ConversionCache;
+import org.jpmml.h2o.HasH2OOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConversionCacheTest {
+
+	@TempDir
+	public File tmpDir;
+
+
+	@Test
+	public void writePMML() throws Exception {
+		ConversionCache cache = new ConversionCache(this.tmpDir, Long.MAX_VALUE);
+
+		byte[] mojo = loadMojo("GBMAudit");
+
+		byte[] missPmml = writePMML(cache, mojo);
+
+		assertEquals(0L, cache.getHitCount());
+		assertEquals(1L, cache.getMissCount());
+
+		byte[] hitPmml = writePMML(cache, mojo);
+
+		assertEquals(1L, cache.getHitCount());
+		assertEquals(1L, cache.getMissCount());
+
+		assertArrayEquals(missPmml, hitPmml);
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		// Parallelism does not affect the content of PMML documents
+		cache.writePMML(mojo, Collections.singletonMap(HasH2OOptions.OPTION_PARALLELISM, 2), os);
+
+		assertEquals(2L, cache.getHitCount());
+		assertEquals(1L, cache.getMissCount());
+
+		assertArrayEquals(missPmml, os.toByteArray());
+
+		os = new ByteArrayOutputStream();
+
+		cache.writePMML(mojo, Collections.singletonMap(HasH2OOptions.OPTION_COMPACT, Boolean.TRUE), os);
+
+		assertEquals(2L, cache.getHitCount());
+		assertEquals(2L, cache.getMissCount());
+	}
+
+	@Test
+	public void evict() throws Exception {
+		ConversionCache cache = new ConversionCache(this.tmpDir, 1L);
+
+		byte[] gbmMojo = loadMojo("GBMAudit");
+		byte[] drfMojo = loadMojo("RandomForestAudit");
+
+		writePMML(cache, gbmMojo);
+		writePMML(cache, drfMojo);
+
+		assertEquals(1L, cache.getEvictionCount());
+
+		File[] files = this.tmpDir.listFiles();
+
+		assertEquals(1, files.length);
+
+		writePMML(cache, drfMojo);
+
+		assertEquals(1L, cache.getHitCount());
+
+		writePMML(cache, gbmMojo);
+
+		assertEquals(3L, cache.getMissCount());
+		assertEquals(2L, cache.getEvictionCount());
+
+		assertTrue(files[0].getName().endsWith(".pmml"));
+	}
+
+	static
+	private byte[] writePMML(ConversionCache cache, byte[] mojo) throws Exception {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		cache.writePMML(mojo, Collections.emptyMap(), os);
+
+		return os.toByteArray();
+	}
+
+	static
+	private byte[] loadMojo(String name) throws Exception {
+
+		try(InputStream is = ConversionCacheTest.class.getResourceAsStream("/mojo/" + name + ".zip")){
+			return is.readAllBytes();
+		}
+	}
+}
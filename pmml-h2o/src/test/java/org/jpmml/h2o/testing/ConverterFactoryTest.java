@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.testing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jpmml.h2o.ConverterFactory;
+import org.jpmml.h2o.HasH2OOptions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConverterFactoryTest {
+
+	@Test
+	public void parseOptions(){
+		Map<String, Object> options = new LinkedHashMap<>();
+		options.put(HasH2OOptions.OPTION_COMPACT, "true");
+		options.put(HasH2OOptions.OPTION_PARALLELISM, "4");
+		options.put(HasH2OOptions.OPTION_PRESCALE, Boolean.FALSE);
+		options.put(HasH2OOptions.OPTION_PRUNE, "False");
+		options.put(HasH2OOptions.OPTION_XGBOOST_PREFIX + "ntree_limit", "10");
+
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory(options);
+
+		Map<String, ?> parsedOptions = converterFactory.getOptions();
+
+		assertEquals(Boolean.TRUE, parsedOptions.get(HasH2OOptions.OPTION_COMPACT));
+		assertEquals(4, parsedOptions.get(HasH2OOptions.OPTION_PARALLELISM));
+		assertEquals(Boolean.FALSE, parsedOptions.get(HasH2OOptions.OPTION_PRESCALE));
+		assertEquals(Boolean.FALSE, parsedOptions.get(HasH2OOptions.OPTION_PRUNE));
+
+		// XGBoost options are passed through as is
+		assertEquals("10", parsedOptions.get(HasH2OOptions.OPTION_XGBOOST_PREFIX + "ntree_limit"));
+
+		assertEquals(4, ConverterFactory.newConverterFactory(Collections.singletonMap(HasH2OOptions.OPTION_PARALLELISM, 4L)).getOptions().get(HasH2OOptions.OPTION_PARALLELISM));
+	}
+
+	@Test
+	public void parseInvalidOptions(){
+		assertThrows(IllegalArgumentException.class, () -> ConverterFactory.newConverterFactory(Collections.singletonMap("compaction", Boolean.TRUE)));
+
+		assertThrows(IllegalArgumentException.class, () -> ConverterFactory.newConverterFactory(Collections.singletonMap(HasH2OOptions.OPTION_COMPACT, "yes")));
+		assertThrows(IllegalArgumentException.class, () -> ConverterFactory.newConverterFactory(Collections.singletonMap(HasH2OOptions.OPTION_COMPACT, 1)));
+		assertThrows(IllegalArgumentException.class, () -> ConverterFactory.newConverterFactory(Collections.singletonMap(HasH2OOptions.OPTION_COMPACT, null)));
+
+		assertThrows(IllegalArgumentException.class, () -> ConverterFactory.newConverterFactory(Collections.singletonMap(HasH2OOptions.OPTION_PARALLELISM, "four")));
+		assertThrows(IllegalArgumentException.class, () -> ConverterFactory.newConverterFactory(Collections.singletonMap(HasH2OOptions.OPTION_PARALLELISM, 0)));
+		assertThrows(IllegalArgumentException.class, () -> ConverterFactory.newConverterFactory(Collections.singletonMap(HasH2OOptions.OPTION_PARALLELISM, 4.5d)));
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.testing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class CsvUtil {
+
+	private CsvUtil(){
+	}
+
+	static
+	public List<Map<String, String>> readRows(String name) throws IOException {
+		List<String> lines;
+
+		try(InputStream is = CsvUtil.class.getResourceAsStream("/csv/" + name + ".csv")){
+			BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+
+			lines = reader.lines()
+				.collect(Collectors.toList());
+		}
+
+		String[] header = (lines.get(0)).split(",");
+
+		List<Map<String, String>> result = new ArrayList<>();
+
+		for(String line : lines.subList(1, lines.size())){
+			String[] cells = line.split(",", -1);
+
+			Map<String, String> row = new LinkedHashMap<>();
+
+			for(int i = 0; i < header.length; i++){
+				row.put(header[i], cells[i]);
+			}
+
+			result.add(row);
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.testing;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jpmml.h2o.ForkJoinUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ForkJoinUtilTest {
+
+	@Test
+	public void applyAll(){
+		List<Integer> expected = IntStream.range(0, 1000)
+			.boxed()
+			.collect(Collectors.toList());
+
+		assertEquals(expected, ForkJoinUtil.applyAll(index -> index, 1000, null));
+		assertEquals(expected, ForkJoinUtil.applyAll(index -> index, 1000, 4));
+	}
+
+	@Test
+	public void applyAllBounded(){
+		AtomicInteger active = new AtomicInteger(0);
+		AtomicInteger maxActive = new AtomicInteger(0);
+
+		ForkJoinUtil.applyAll(index -> {
+			int count = active.incrementAndGet();
+
+			maxActive.accumulateAndGet(count, Math::max);
+
+			try {
+				Thread.sleep(1L);
+			} catch(InterruptedException ie){
+				throw new RuntimeException(ie);
+			} finally {
+				active.decrementAndGet();
+			}
+
+			return index;
+		}, 200, 2);
+
+		assertTrue(maxActive.get() <= 2);
+	}
+
+	@Test
+	public void applyAllNested(){
+		List<List<Integer>> result = ForkJoinUtil.applyAll(index -> ForkJoinUtil.applyAll(childIndex -> (index * 10 + childIndex), 10, 4), 10, 4);
+
+		for(int i = 0; i < 10; i++){
+			List<Integer> childResult = result.get(i);
+
+			for(int j = 0; j < 10; j++){
+				assertEquals((Integer)(i * 10 + j), childResult.get(j));
+			}
+		}
+	}
+
+	@Test
+	public void applyAllForeignPool() throws Exception {
+		ForkJoinPool commonPool = ForkJoinPool.commonPool();
+
+		// Tasks are not forked into a pool that the caller happens to be running in
+		List<ForkJoinPool> pools = commonPool.submit(() -> ForkJoinUtil.applyAll(index -> ForkJoinTask.getPool(), 100, 4)).get();
+
+		for(ForkJoinPool pool : pools){
+			assertNotSame(commonPool, pool);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.testing;
+
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.Expression;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.PMMLFunctions;
+import org.jpmml.converter.ExpressionUtil;
+import org.jpmml.h2o.H2OEncoder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class H2OEncoderTest {
+
+	@Test
+	public void ensureDerivedField(){
+		H2OEncoder encoder = new H2OEncoder();
+
+		DataField dataField = encoder.createDataField("x", (String[])null);
+
+		DerivedField first = encoder.ensureDerivedField("first", OpType.CONTINUOUS, DataType.DOUBLE, createExpression(dataField, 2d));
+		DerivedField second = encoder.ensureDerivedField("second", OpType.CONTINUOUS, DataType.DOUBLE, createExpression(dataField, 2d));
+
+		assertSame(first, second);
+		assertEquals("first", second.requireName());
+
+		DerivedField third = encoder.ensureDerivedField("third", OpType.CONTINUOUS, DataType.DOUBLE, createExpression(dataField, 3d));
+
+		assertNotSame(first, third);
+
+		DerivedField fourth = encoder.ensureDerivedField("fourth", OpType.CONTINUOUS, DataType.FLOAT, createExpression(dataField, 2d));
+
+		assertNotSame(first, fourth);
+
+		DerivedField fifth = encoder.createDerivedField("fifth", OpType.CONTINUOUS, DataType.DOUBLE, createExpression(dataField, 2d));
+
+		assertNotSame(first, fifth);
+		assertEquals("fifth", fifth.requireName());
+	}
+
+	static
+	private Expression createExpression(DataField dataField, double value){
+		return ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef(dataField.requireName()), ExpressionUtil.createConstant(value));
+	}
+}
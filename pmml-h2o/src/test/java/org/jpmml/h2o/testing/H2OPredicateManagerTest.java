@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.testing;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.Predicate;
+import org.dmg.pmml.SimpleSetPredicate;
+import org.jpmml.converter.CategoricalFeature;
+import org.jpmml.h2o.H2OEncoder;
+import org.jpmml.h2o.H2OPredicateManager;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class H2OPredicateManagerTest {
+
+	@Test
+	public void createPredicate(){
+		H2OEncoder encoder = new H2OEncoder();
+
+		DataField dataField = encoder.createDataField("x", new String[]{"a", "b", "c", "d", "e"});
+
+		CategoricalFeature feature = new CategoricalFeature(encoder, dataField);
+
+		H2OPredicateManager predicateManager = new H2OPredicateManager();
+
+		Predicate predicate = predicateManager.createPredicate(feature, bitSet(0, 2, 4));
+
+		assertTrue(predicate instanceof SimpleSetPredicate);
+
+		assertSame(predicate, predicateManager.createPredicate(feature, bitSet(0, 2, 4)));
+		assertNotSame(predicate, predicateManager.createPredicate(feature, bitSet(0, 2, 3)));
+	}
+
+	@Test
+	public void selectValues(){
+		H2OEncoder encoder = new H2OEncoder();
+
+		DataField dataField = encoder.createDataField("x", new String[]{"a", "b", "c"});
+
+		CategoricalFeature feature = new CategoricalFeature(encoder, dataField);
+
+		assertEquals(Arrays.asList("a", "c"), H2OPredicateManager.selectValues(feature, bitSet(0, 2)));
+		assertEquals(Arrays.asList(), H2OPredicateManager.selectValues(feature, new BitSet()));
+	}
+
+	static
+	private BitSet bitSet(int... indices){
+		BitSet result = new BitSet();
+
+		for(int index : indices){
+			result.set(index);
+		}
+
+		return result;
+	}
+}
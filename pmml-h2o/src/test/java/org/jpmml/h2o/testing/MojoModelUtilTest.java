@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.testing;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import hex.genmodel.MojoModel;
+import hex.genmodel.algos.tree.SharedTreeMojoModel;
+import org.jpmml.h2o.MojoModelUtil;
+import org.jpmml.h2o.SharedTreeMojoModelConverter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MojoModelUtilTest {
+
+	@Test
+	public void readFrom() throws Exception {
+		byte[] mojo = loadMojo("GBMAudit");
+
+		assertTrue(mojo.length > 1024);
+
+		MojoModel expectedMojoModel = MojoModelUtil.readFrom(new ByteArrayInputStream(mojo));
+
+		// The stream is spooled to a temporary file
+		MojoModel actualMojoModel = MojoModelUtil.readFrom(new ByteArrayInputStream(mojo), 1024);
+
+		checkMojoModel(expectedMojoModel, actualMojoModel);
+
+		// The stream is exactly as large as the threshold
+		actualMojoModel = MojoModelUtil.readFrom(new ByteArrayInputStream(mojo), mojo.length);
+
+		checkMojoModel(expectedMojoModel, actualMojoModel);
+
+		assertThrows(IllegalArgumentException.class, () -> MojoModelUtil.readFrom(new ByteArrayInputStream(mojo), -1));
+	}
+
+	static
+	private void checkMojoModel(MojoModel expectedMojoModel, MojoModel actualMojoModel){
+		assertEquals(expectedMojoModel.getClass(), actualMojoModel.getClass());
+		assertArrayEquals(expectedMojoModel.getNames(), actualMojoModel.getNames());
+
+		byte[][] expectedCompressedTrees = SharedTreeMojoModelConverter.getCompressedTrees((SharedTreeMojoModel)expectedMojoModel);
+		byte[][] actualCompressedTrees = SharedTreeMojoModelConverter.getCompressedTrees((SharedTreeMojoModel)actualMojoModel);
+
+		assertEquals(expectedCompressedTrees.length, actualCompressedTrees.length);
+
+		for(int i = 0; i < expectedCompressedTrees.length; i++){
+			assertArrayEquals(expectedCompressedTrees[i], actualCompressedTrees[i]);
+		}
+	}
+
+	static
+	private byte[] loadMojo(String name) throws IOException {
+
+		try(InputStream is = MojoModelUtilTest.class.getResourceAsStream("/mojo/" + name + ".zip")){
+			return is.readAllBytes();
+		}
+	}
+}
@@ -0,0 +1,554 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-H2O
+ *
+ * JPMML-H2O is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-H2O is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-H2O.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.h2o.testing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hex.genmodel.MojoModel;
+import hex.genmodel.algos.tree.NaSplitDir;
+import hex.genmodel.algos.tree.SharedTreeMojoModel;
+import hex.genmodel.utils.ByteBufferWrapper;
+import jakarta.xml.bind.Marshaller;
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.False;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.SimplePredicate;
+import org.dmg.pmml.True;
+import org.dmg.pmml.tree.CountingBranchNode;
+import org.dmg.pmml.tree.CountingLeafNode;
+import org.dmg.pmml.tree.Node;
+import org.dmg.pmml.tree.TreeModel;
+import org.jpmml.converter.CategoryManager;
+import org.jpmml.converter.PredicateManager;
+import org.jpmml.converter.Schema;
+import org.jpmml.evaluator.Evaluator;
+import org.jpmml.evaluator.EvaluatorUtil;
+import org.jpmml.evaluator.ModelEvaluatorBuilder;
+import org.jpmml.h2o.ConversionListener;
+import org.jpmml.h2o.Converter;
+import org.jpmml.h2o.ConverterFactory;
+import org.jpmml.h2o.H2OEncoder;
+import org.jpmml.h2o.HasH2OOptions;
+import org.jpmml.h2o.IntervalManager;
+import org.jpmml.h2o.MojoModelUtil;
+import org.jpmml.h2o.NodeCompactor;
+import org.jpmml.h2o.SharedTree;
+import org.jpmml.h2o.SharedTreeMojoModelConverter;
+import org.jpmml.model.JAXBSerializer;
+import org.jpmml.model.JAXBUtil;
+import org.jpmml.model.metro.MetroJAXBSerializer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SharedTreeMojoModelConverterTest {
+
+	@Test
+	public void encodeParallel() throws Exception {
+		String[] names = {"GBMAudit", "GBMIris", "RandomForestAuditNA", "RandomForestBitSet", "IsolationForestHousing", "StackedEnsembleAuditNA", "StackedEnsembleIris"};
+
+		for(String name : names){
+			String expectedPMML = encode(name, Collections.emptyMap());
+			String actualPMML = encode(name, Collections.singletonMap(HasH2OOptions.OPTION_PARALLELISM, 4));
+
+			assertEquals(expectedPMML, actualPMML);
+		}
+	}
+
+	@Test
+	public void encodeStreaming() throws Exception {
+		String[] names = {"GBMAudit", "GBMIris", "RandomForestAuditNA", "RandomForestBitSet", "IsolationForestHousing", "StackedEnsembleAuditNA"};
+
+		Map<String, Object> compactOptions = new LinkedHashMap<>();
+		compactOptions.put(HasH2OOptions.OPTION_COMPACT, Boolean.TRUE);
+		compactOptions.put(HasH2OOptions.OPTION_PRUNE, Boolean.TRUE);
+
+		List<Map<String, ?>> optionsList = Arrays.asList(Collections.emptyMap(), compactOptions);
+
+		for(String name : names){
+
+			for(Map<String, ?> options : optionsList){
+				Converter<?> converter = loadConverter(name, options);
+
+				PMML pmml = converter.encodePMML();
+
+				Marshaller marshaller = JAXBUtil.getContext().createMarshaller();
+				marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+
+				ByteArrayOutputStream expectedOs = new ByteArrayOutputStream();
+
+				marshaller.marshal(pmml, expectedOs);
+
+				converter = loadConverter(name, options);
+
+				ByteArrayOutputStream actualOs = new ByteArrayOutputStream();
+
+				converter.writePMML(actualOs);
+
+				assertEquals(expectedOs.toString("UTF-8"), actualOs.toString("UTF-8"));
+
+				// Flat trees
+				Map<String, Object> parallelOptions = new LinkedHashMap<>(options);
+				parallelOptions.put(HasH2OOptions.OPTION_PARALLELISM, 4);
+
+				converter = loadConverter(name, parallelOptions);
+
+				actualOs = new ByteArrayOutputStream();
+
+				converter.writePMML(actualOs);
+
+				assertEquals(expectedOs.toString("UTF-8"), actualOs.toString("UTF-8"));
+			}
+		}
+	}
+
+	@Test
+	public void encodeMapped() throws Exception {
+		String[] names = {"GBMAudit", "GBMIris", "RandomForestAudit", "RandomForestAuditNA", "StackedEnsembleAuditNA"};
+
+		for(String name : names){
+			String expectedPmml = encode(name, Collections.emptyMap());
+
+			// Decision tree blobs are loaded on demand from the memory-mapped ZIP entries
+			Converter<?> converter = mapConverter(name, Collections.emptyMap());
+
+			assertEquals(expectedPmml, serialize(converter.encodePMML()));
+
+			converter = mapConverter(name, Collections.emptyMap());
+
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+			converter.writePMML(os);
+
+			converter = loadConverter(name, Collections.emptyMap());
+
+			ByteArrayOutputStream expectedOs = new ByteArrayOutputStream();
+
+			converter.writePMML(expectedOs);
+
+			assertEquals(expectedOs.toString("UTF-8"), os.toString("UTF-8"));
+		}
+	}
+
+	@Test
+	public void encodeListener() throws Exception {
+		Converter<?> converter = loadConverter("GBMAudit", Collections.emptyMap());
+
+		Map<ConversionListener.Stage, Integer> stages = new EnumMap<>(ConversionListener.Stage.class);
+		Map<ConversionListener.Counter, Long> counts = new EnumMap<>(ConversionListener.Counter.class);
+
+		ConversionListener listener = new ConversionListener(){
+
+			@Override
+			public void stageCompleted(ConversionListener.Stage stage, long nanos){
+				stages.merge(stage, 1, Integer::sum);
+			}
+
+			@Override
+			public void countIncremented(ConversionListener.Counter counter, long delta){
+				counts.merge(counter, delta, Long::sum);
+			}
+		};
+
+		converter.setListener(listener);
+		converter.encodePMML();
+
+		assertEquals(4, stages.size());
+		assertFalse(stages.containsKey(ConversionListener.Stage.WRITE_PMML));
+
+		SharedTreeMojoModel model = (SharedTreeMojoModel)converter.getModel();
+
+		assertEquals((long)SharedTreeMojoModelConverter.getCompressedTrees(model).length, counts.get(ConversionListener.Counter.TREES_DECODED));
+		assertTrue(counts.get(ConversionListener.Counter.NODES_EMITTED) > counts.get(ConversionListener.Counter.TREES_DECODED));
+		assertTrue(counts.get(ConversionListener.Counter.PREDICATES_CREATED) > 0L);
+		assertTrue(counts.get(ConversionListener.Counter.PREDICATES_REUSED) > 0L);
+		assertTrue(counts.get(ConversionListener.Counter.COMPRESSED_TREE_BYTES) > 0L);
+	}
+
+	@Test
+	public void encodeCompact() throws Exception {
+		// Isolation forest trees contain sibling leaf nodes that have the same path length
+		String name = "IsolationForestHousing";
+
+		Converter<?> converter = loadConverter(name, Collections.singletonMap(HasH2OOptions.OPTION_COMPACT, Boolean.TRUE));
+
+		Map<ConversionListener.Counter, Long> counts = new EnumMap<>(ConversionListener.Counter.class);
+
+		converter.setListener(new ConversionListener(){
+
+			@Override
+			public void countIncremented(ConversionListener.Counter counter, long delta){
+				counts.merge(counter, delta, Long::sum);
+			}
+		});
+
+		PMML compactPmml = converter.encodePMML();
+
+		long nodesEmitted = counts.get(ConversionListener.Counter.NODES_EMITTED);
+		long nodesRemoved = counts.get(ConversionListener.Counter.NODES_REMOVED);
+
+		assertTrue(nodesRemoved > 0L && nodesRemoved < nodesEmitted);
+
+		converter = loadConverter(name, Collections.emptyMap());
+
+		PMML pmml = converter.encodePMML();
+
+		Evaluator evaluator = new ModelEvaluatorBuilder(pmml)
+			.build();
+
+		Evaluator compactEvaluator = new ModelEvaluatorBuilder(compactPmml)
+			.build();
+
+		List<Map<String, String>> rows = CsvUtil.readRows("Housing");
+
+		for(Map<String, String> row : rows){
+			Map<String, ?> expectedResults = EvaluatorUtil.decodeAll(evaluator.evaluate(row));
+			Map<String, ?> actualResults = EvaluatorUtil.decodeAll(compactEvaluator.evaluate(row));
+
+			assertEquals(expectedResults, actualResults);
+		}
+
+		// The single live child node of a split takes the record count of the split
+		Node root = new CountingBranchNode(null, True.INSTANCE)
+			.setId("1")
+			.setRecordCount(10)
+			.addNodes(
+				new CountingLeafNode(1d, False.INSTANCE)
+					.setId("2")
+					.setRecordCount(0),
+				new CountingBranchNode(null, True.INSTANCE)
+					.setId("3")
+					.setRecordCount(8)
+					.addNodes(
+						new CountingLeafNode(2d, True.INSTANCE)
+							.setId("4")
+							.setRecordCount(5),
+						new CountingLeafNode(3d, True.INSTANCE)
+							.setId("5")
+							.setRecordCount(3)
+					)
+			);
+
+		NodeCompactor nodeCompactor = new NodeCompactor();
+
+		Node compactedRoot = nodeCompactor.compact(root);
+
+		assertEquals(2, nodeCompactor.getRemovedCount());
+
+		assertEquals("1", compactedRoot.getId());
+		assertEquals(10, compactedRoot.getRecordCount());
+		assertEquals(2, (compactedRoot.getNodes()).size());
+	}
+
+	@Test
+	public void encodeDeepTree(){
+		int depth = 50000;
+
+		float[] splitVals = new float[depth];
+
+		for(int i = 0; i < depth; i++){
+			splitVals[i] = (i + 1);
+		}
+
+		TreeModel treeModel = encodeChainTree(splitVals, null);
+
+		Node node = treeModel.getNode();
+
+		for(int i = 0; i < depth; i++){
+			assertTrue(node.hasNodes());
+
+			List<Node> children = node.getNodes();
+
+			assertEquals(2, children.size());
+
+			Node leftChild = children.get(0);
+			Node rightChild = children.get(1);
+
+			assertFalse(leftChild.hasNodes());
+			assertEquals((double)i, leftChild.getScore());
+			assertEquals(leftChild.getId(), node.getDefaultChild());
+
+			node = rightChild;
+		}
+
+		assertFalse(node.hasNodes());
+		assertEquals((double)depth, node.getScore());
+	}
+
+	@Test
+	public void encodeUnreachableSplits(){
+		int depth = 10;
+
+		float[] splitVals = new float[depth];
+
+		for(int i = 0; i < depth; i++){
+			splitVals[i] = (depth - i);
+		}
+
+		// Without interval tracking, all splits are kept
+		TreeModel treeModel = encodeChainTree(splitVals, null);
+
+		Node node = treeModel.getNode();
+
+		for(int i = 0; i < depth; i++){
+			List<Node> children = node.getNodes();
+
+			assertEquals(2, children.size());
+
+			node = children.get(1);
+		}
+
+		assertFalse(node.hasNodes());
+
+		// All splits below the root split are unreachable on the left side
+		treeModel = encodeChainTree(splitVals, new IntervalManager());
+
+		node = treeModel.getNode();
+
+		List<Node> children = node.getNodes();
+
+		assertEquals(2, children.size());
+
+		Node leftChild = children.get(0);
+		Node rightChild = children.get(1);
+
+		assertFalse(leftChild.hasNodes());
+		assertEquals(0d, leftChild.getScore());
+		assertEquals(leftChild.getId(), node.getDefaultChild());
+
+		assertFalse(rightChild.hasNodes());
+		assertEquals((double)depth, rightChild.getScore());
+
+		SimplePredicate simplePredicate = (SimplePredicate)rightChild.getPredicate();
+
+		assertEquals(SimplePredicate.Operator.GREATER_OR_EQUAL, simplePredicate.getOperator());
+		assertEquals((double)depth, simplePredicate.getValue());
+
+		// The live child node takes the record count of the eliminated split, not its own
+		treeModel = encodeChainTree(splitVals, true, new IntervalManager());
+
+		node = treeModel.getNode();
+
+		assertEquals((double)(depth + 1), node.getRecordCount());
+
+		children = node.getNodes();
+
+		assertEquals(2, children.size());
+
+		leftChild = children.get(0);
+		rightChild = children.get(1);
+
+		assertEquals(1d, leftChild.getRecordCount());
+
+		assertFalse(rightChild.hasNodes());
+		assertEquals((double)depth, rightChild.getRecordCount());
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void encodeLegacyNode(){
+		float[] splitVals = {1f, 2f, 3f};
+
+		SharedTree sharedTree = createChainTree(splitVals, false);
+
+		// Skip the root split
+		ByteBufferWrapper byteBuffer = new ByteBufferWrapper(sharedTree.getCompressedTree());
+		byteBuffer.skip(12);
+
+		Node node = SharedTreeMojoModelConverter.encodeNode(sharedTree, byteBuffer, 1, True.INSTANCE, new CategoryManager(), new PredicateManager(), createChainSchema());
+
+		for(int i = 1; i < splitVals.length; i++){
+			List<Node> children = node.getNodes();
+
+			assertEquals(2, children.size());
+
+			Node leftChild = children.get(0);
+			Node rightChild = children.get(1);
+
+			assertEquals((double)i, leftChild.getScore());
+
+			SimplePredicate simplePredicate = (SimplePredicate)rightChild.getPredicate();
+
+			assertEquals((double)splitVals[i], simplePredicate.getValue());
+
+			node = rightChild;
+		}
+
+		assertFalse(node.hasNodes());
+		assertEquals((double)splitVals.length, node.getScore());
+	}
+
+	static
+	private TreeModel encodeChainTree(float[] splitVals, IntervalManager intervalManager){
+		return encodeChainTree(splitVals, false, intervalManager);
+	}
+
+	static
+	private TreeModel encodeChainTree(float[] splitVals, boolean aux, IntervalManager intervalManager){
+		SharedTree sharedTree = createChainTree(splitVals, aux);
+
+		return SharedTreeMojoModelConverter.encodeTreeModel(sharedTree, intervalManager, new PredicateManager(), createChainSchema());
+	}
+
+	// The split at depth i has id 2 * i, and its left and right child nodes have ids 2 * i + 1 and 2 * i + 2, respectively.
+	// If aux info is present, then the split at depth i sees one training record going left, and (depth - i) training records going right
+	static
+	private SharedTree createChainTree(float[] splitVals, boolean aux){
+		int depth = splitVals.length;
+
+		ByteBuffer byteBuffer = ByteBuffer.allocate(depth * 12 + 7)
+			.order(ByteOrder.nativeOrder());
+
+		for(int i = 0; i < depth; i++){
+			// Left child is an inline leaf, right child is a subtree
+			byteBuffer.put((byte)48);
+			byteBuffer.putChar((char)0);
+			byteBuffer.put((byte)NaSplitDir.NALeft.value());
+			byteBuffer.putFloat(splitVals[i]);
+			byteBuffer.putFloat(i);
+		}
+
+		byteBuffer.put((byte)0);
+		byteBuffer.putChar((char)65535);
+		byteBuffer.putFloat(depth);
+
+		byte[] compressedTree = byteBuffer.array();
+
+		Map<Integer, SharedTreeMojoModel.AuxInfo> auxInfos = Collections.emptyMap();
+
+		if(aux){
+			ByteBuffer auxByteBuffer = ByteBuffer.allocate(depth * 36)
+				.order(ByteOrder.nativeOrder());
+
+			for(int i = 0; i < depth; i++){
+				auxByteBuffer.putInt(2 * i);
+				auxByteBuffer.putFloat(1f);
+				auxByteBuffer.putFloat(depth - i);
+				auxByteBuffer.putFloat(i);
+				auxByteBuffer.putFloat(depth);
+				auxByteBuffer.putFloat(0f);
+				auxByteBuffer.putFloat(0f);
+				auxByteBuffer.putInt(2 * i + 1);
+				auxByteBuffer.putInt(2 * i + 2);
+			}
+
+			auxInfos = SharedTreeMojoModel.readAuxInfos(auxByteBuffer.array());
+		}
+
+		Map<Integer, SharedTreeMojoModel.AuxInfo> nodeAuxInfos = auxInfos;
+
+		SharedTree sharedTree = new SharedTree(){
+
+			private AtomicInteger idSequence = new AtomicInteger(0);
+
+
+			@Override
+			public byte[] getCompressedTree(){
+				return compressedTree;
+			}
+
+			@Override
+			public byte[] getCompressedTreeAux(){
+				return null;
+			}
+
+			@Override
+			public Integer nextId(){
+				return this.idSequence.getAndIncrement();
+			}
+
+			@Override
+			public SharedTreeMojoModel.AuxInfo getAuxInfo(int id){
+				return nodeAuxInfos.get(id);
+			}
+
+			@Override
+			public void encodeAuxInfo(Node node, double score, double recordCount){
+				node.setRecordCount(recordCount);
+			}
+		};
+
+		return sharedTree;
+	}
+
+	static
+	private Schema createChainSchema(){
+		H2OEncoder encoder = new H2OEncoder();
+
+		DataField dataField = encoder.createDataField("x", (String[])null);
+
+		encoder.addFeature(dataField);
+
+		return encoder.createSchema();
+	}
+
+	static
+	private String encode(String name, Map<String, ?> options) throws Exception {
+		Converter<?> converter = loadConverter(name, options);
+
+		return serialize(converter.encodePMML());
+	}
+
+	static
+	private Converter<?> loadConverter(String name, Map<String, ?> options) throws Exception {
+		MojoModel mojoModel;
+
+		try(InputStream is = SharedTreeMojoModelConverterTest.class.getResourceAsStream("/mojo/" + name + ".zip")){
+			mojoModel = MojoModelUtil.readFrom(is);
+		}
+
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory(options);
+
+		return converterFactory.newConverter(mojoModel);
+	}
+
+	static
+	private Converter<?> mapConverter(String name, Map<String, ?> options) throws Exception {
+		URL url = SharedTreeMojoModelConverterTest.class.getResource("/mojo/" + name + ".zip");
+
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory(options);
+
+		return MojoModelUtil.mapFrom(new File(url.toURI()), converterFactory);
+	}
+
+	static
+	private String serialize(PMML pmml) throws Exception {
+		JAXBSerializer jaxbSerializer = new MetroJAXBSerializer();
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		jaxbSerializer.serializePretty(pmml, os);
+
+		return os.toString("UTF-8");
+	}
+}
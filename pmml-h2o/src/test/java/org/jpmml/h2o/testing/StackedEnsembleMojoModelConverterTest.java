@@ -18,10 +18,48 @@
  */
 package org.jpmml.h2o.testing;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import hex.genmodel.MojoModel;
+import hex.genmodel.algos.ensemble.StackedEnsembleMojoModel;
+import hex.genmodel.easy.EasyPredictModelWrapper;
+import hex.genmodel.easy.RowData;
+import hex.genmodel.easy.prediction.BinomialModelPrediction;
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.MiningField;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.VisitorAction;
 import org.jpmml.converter.testing.Datasets;
+import org.jpmml.evaluator.Evaluator;
+import org.jpmml.evaluator.EvaluatorUtil;
+import org.jpmml.evaluator.ModelEvaluatorBuilder;
 import org.jpmml.evaluator.testing.PMMLEquivalence;
+import org.jpmml.h2o.Converter;
+import org.jpmml.h2o.ConverterFactory;
+import org.jpmml.h2o.MojoModelUtil;
+import org.jpmml.h2o.StackedEnsembleMojoModelConverter;
+import org.jpmml.model.visitors.AbstractVisitor;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
 public class StackedEnsembleMojoModelConverterTest extends H2OEncoderBatchTest implements Datasets, H2OFields {
 
 	@Test
@@ -38,4 +76,213 @@ public class StackedEnsembleMojoModelConverterTest extends H2OEncoderBatchTest i
 	public void evaluateIris() throws Exception {
 		evaluate("StackedEnsemble", IRIS, new PMMLEquivalence(1e-13, 1e-13));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void evaluateGLMBaseModels() throws Exception {
+		Map<String, byte[]> entries = readEntries("StackedEnsembleAuditNA");
+
+		// Replace the DRF base model with two copies of a GLM model that performs mean and mode imputation
+		entries.keySet().removeIf(name -> name.startsWith(AUDIT_NA_DRF_DIR));
+
+		Map<String, byte[]> glmEntries = readEntries("GLMAuditNA");
+
+		putEntries(entries, "models/GLM/GLM_1/", glmEntries);
+		putEntries(entries, "models/GLM/GLM_2/", glmEntries);
+
+		replace(entries, "model.ini",
+			"submodel_count = 3", "submodel_count = 4",
+			"submodel_key_2 = " + AUDIT_NA_DRF_KEY + "\n", "submodel_key_2 = GLM_1\nsubmodel_key_3 = GLM_2\n",
+			"submodel_dir_2 = " + AUDIT_NA_DRF_DIR + "\n", "submodel_dir_2 = models/GLM/GLM_1/\nsubmodel_dir_3 = models/GLM/GLM_2/\n",
+			"base_models_num = 2", "base_models_num = 3",
+			"base_model1 = " + AUDIT_NA_DRF_KEY + "\n", "base_model1 = GLM_1\nbase_model2 = GLM_2\n"
+		);
+
+		replace(entries, AUDIT_NA_METALEARNER_DIR + "model.ini",
+			"n_features = 2", "n_features = 3",
+			"n_columns = 3", "n_columns = 4",
+			"nums = 2", "nums = 3",
+			"num_means = [0.23383315807266986, 0.24213970194839388]", "num_means = [0.23383315807266986, 0.24213970194839388, 0.24213970194839388]",
+			"beta = [4.13447577486011, 1.9870927618115213, -2.8890981952827604]", "beta = [4.13447577486011, 1.9870927618115213, -1.0, -2.8890981952827604]",
+			AUDIT_NA_DRF_KEY + "\n", "GLM_1\nGLM_2\n",
+			"2: 2 d000.txt", "3: 2 d000.txt"
+		);
+
+		MojoModel mojoModel = MojoModelUtil.readFrom(ByteBuffer.wrap(writeEntries(entries)));
+
+		PMML pmml = encodePMML(mojoModel);
+
+		Set<String> dataFieldNames = (pmml.requireDataDictionary().getDataFields()).stream()
+			.map(DataField::requireName)
+			.collect(Collectors.toSet());
+
+		List<String> imputedNames = new ArrayList<>();
+
+		AbstractVisitor visitor = new AbstractVisitor(){
+
+			@Override
+			public VisitorAction visit(DerivedField derivedField){
+				String name = derivedField.requireName();
+
+				if(name.startsWith("imputed(")){
+					imputedNames.add(name);
+				}
+
+				return super.visit(derivedField);
+			}
+
+			@Override
+			public VisitorAction visit(MiningField miningField){
+				// Data fields are shared with the GBM base model, so they must not be decorated
+				if(dataFieldNames.contains(miningField.requireName())){
+					assertNull(miningField.getMissingValueReplacement());
+				}
+
+				return super.visit(miningField);
+			}
+		};
+		visitor.applyTo(pmml);
+
+		// One derived field per GLM input field, shared between both GLM base models
+		assertEquals(9, imputedNames.size());
+		assertEquals(imputedNames.size(), (new HashSet<>(imputedNames)).size());
+
+		checkPredictions(mojoModel, pmml, "AuditNA", AUDIT_ADJUSTED);
+	}
+
+	@Test
+	public void evaluateReindexedBaseModel() throws Exception {
+		Map<String, byte[]> entries = readEntries("StackedEnsembleAuditNA");
+
+		// Rotate the continuous columns of the GBM base model, so that its column order differs from that of the stacked ensemble.
+		// Column types and domains stay in place, so the decision trees remain valid
+		replace(entries, AUDIT_NA_GBM_DIR + "model.ini",
+			"[columns]\nAge\nEmployment\nEducation\nMarital\nOccupation\nIncome\nGender\nDeductions\nHours\n", "[columns]\nHours\nEmployment\nEducation\nMarital\nOccupation\nAge\nGender\nDeductions\nIncome\n"
+		);
+
+		MojoModel mojoModel = MojoModelUtil.readFrom(ByteBuffer.wrap(writeEntries(entries)));
+
+		Object[] baseModels = StackedEnsembleMojoModelConverter.getBaseModels((StackedEnsembleMojoModel)mojoModel);
+
+		assertArrayEquals(new int[]{8, 1, 2, 3, 4, 0, 6, 7, 5}, StackedEnsembleMojoModelConverter.getMapping(baseModels[0]));
+
+		PMML pmml = encodePMML(mojoModel);
+
+		checkPredictions(mojoModel, pmml, "AuditNA", AUDIT_ADJUSTED);
+	}
+
+	static
+	private PMML encodePMML(MojoModel mojoModel){
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory();
+
+		Converter<?> converter = converterFactory.newConverter(mojoModel);
+
+		return converter.encodePMML();
+	}
+
+	static
+	private void checkPredictions(MojoModel mojoModel, PMML pmml, String dataset, String targetName) throws Exception {
+		EasyPredictModelWrapper modelWrapper = new EasyPredictModelWrapper(mojoModel);
+
+		Evaluator evaluator = new ModelEvaluatorBuilder(pmml)
+			.build();
+
+		List<Map<String, String>> rows = CsvUtil.readRows(dataset);
+
+		for(Map<String, String> row : rows){
+			RowData rowData = new RowData();
+
+			Map<String, Object> arguments = new LinkedHashMap<>();
+
+			Collection<Map.Entry<String, String>> entries = row.entrySet();
+			for(Map.Entry<String, String> entry : entries){
+				String name = entry.getKey();
+				String value = entry.getValue();
+
+				if((name).equals(targetName)){
+					continue;
+				} // End if
+
+				if(("N/A").equals(value)){
+					arguments.put(name, null);
+
+					continue;
+				}
+
+				rowData.put(name, value);
+				arguments.put(name, value);
+			}
+
+			BinomialModelPrediction prediction = modelWrapper.predictBinomial(rowData);
+
+			Map<String, ?> results = EvaluatorUtil.decodeAll(evaluator.evaluate(arguments));
+
+			assertEquals(prediction.classProbabilities[1], (Double)results.get("probability(1)"), 1e-10);
+		}
+	}
+
+	static
+	private Map<String, byte[]> readEntries(String name) throws Exception {
+		Map<String, byte[]> result = new LinkedHashMap<>();
+
+		try(InputStream is = StackedEnsembleMojoModelConverterTest.class.getResourceAsStream("/mojo/" + name + ".zip")){
+			ZipInputStream zis = new ZipInputStream(is);
+
+			for(ZipEntry entry = zis.getNextEntry(); entry != null; entry = zis.getNextEntry()){
+				result.put(entry.getName(), zis.readAllBytes());
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private void putEntries(Map<String, byte[]> entries, String dir, Map<String, byte[]> subEntries){
+		Collection<Map.Entry<String, byte[]>> subEntrySet = subEntries.entrySet();
+
+		for(Map.Entry<String, byte[]> subEntry : subEntrySet){
+			entries.put(dir + subEntry.getKey(), subEntry.getValue());
+		}
+	}
+
+	static
+	private void replace(Map<String, byte[]> entries, String name, String... targetsAndReplacements){
+		String string = new String(entries.get(name), StandardCharsets.UTF_8);
+
+		for(int i = 0; i < targetsAndReplacements.length; i += 2){
+			String target = targetsAndReplacements[i];
+			String replacement = targetsAndReplacements[i + 1];
+
+			if(!string.contains(target)){
+				throw new IllegalArgumentException("Entry " + name + " does not contain " + target);
+			}
+
+			string = string.replace(target, replacement);
+		}
+
+		entries.put(name, string.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static
+	private byte[] writeEntries(Map<String, byte[]> entries) throws Exception {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try(ZipOutputStream zos = new ZipOutputStream(os)){
+			Collection<Map.Entry<String, byte[]>> entrySet = entries.entrySet();
+
+			for(Map.Entry<String, byte[]> entry : entrySet){
+				zos.putNextEntry(new ZipEntry(entry.getKey()));
+				zos.write(entry.getValue());
+				zos.closeEntry();
+			}
+		}
+
+		return os.toByteArray();
+	}
+
+	private static final String AUDIT_NA_METALEARNER_DIR = "models/GLM/metalearner_AUTO_StackedEnsemble_model_python_1761208361090_650/";
+
+	private static final String AUDIT_NA_GBM_DIR = "models/GBM/GBM_model_python_1761208361090_476/";
+
+	private static final String AUDIT_NA_DRF_KEY = "DRF_model_python_1761208361090_565";
+	private static final String AUDIT_NA_DRF_DIR = "models/DRF/" + AUDIT_NA_DRF_KEY + "/";
+}
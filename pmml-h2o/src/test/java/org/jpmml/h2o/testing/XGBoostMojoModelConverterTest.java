@@ -18,10 +18,33 @@
  */
 package org.jpmml.h2o.testing;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+
+import hex.genmodel.MojoModel;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.VisitorAction;
+import org.dmg.pmml.tree.TreeModel;
 import org.jpmml.converter.testing.Datasets;
 import org.jpmml.evaluator.testing.PMMLEquivalence;
+import org.jpmml.h2o.Converter;
+import org.jpmml.h2o.ConverterFactory;
+import org.jpmml.h2o.HasH2OOptions;
+import org.jpmml.h2o.MojoModelUtil;
+import org.jpmml.model.JAXBSerializer;
+import org.jpmml.model.metro.MetroJAXBSerializer;
+import org.jpmml.model.visitors.AbstractVisitor;
+import org.jpmml.xgboost.HasXGBoostOptions;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class XGBoostMojoModelConverterTest extends H2OEncoderBatchTest implements Datasets, H2OFields {
 
 	public XGBoostMojoModelConverterTest(){
@@ -52,4 +75,99 @@ public class XGBoostMojoModelConverterTest extends H2OEncoderBatchTest implement
 	public void evaluateIris() throws Exception {
 		evaluate("XGBoost", IRIS);
 	}
+
+	@Test
+	public void encodeMapped() throws Exception {
+		String[] names = {"XGBoostAudit", "XGBoostIris"};
+
+		for(String name : names){
+			URL url = XGBoostMojoModelConverterTest.class.getResource("/mojo/" + name + ".zip");
+
+			MojoModel expectedMojoModel;
+
+			try(InputStream is = url.openStream()){
+				expectedMojoModel = MojoModelUtil.readFrom(is);
+			}
+
+			ConverterFactory converterFactory = ConverterFactory.newConverterFactory();
+
+			// The booster blob is streamed from the memory-mapped ZIP entry
+			Converter<?> converter = MojoModelUtil.mapFrom(new File(url.toURI()), converterFactory);
+
+			assertEquals(encode(expectedMojoModel), serialize(converter.encodePMML()));
+		}
+	}
+
+	@Test
+	public void encodeOptions() throws Exception {
+		MojoModel mojoModel;
+
+		try(InputStream is = XGBoostMojoModelConverterTest.class.getResourceAsStream("/mojo/XGBoostAudit.zip")){
+			mojoModel = MojoModelUtil.readFrom(is);
+		}
+
+		Map<String, ?> options = Collections.emptyMap();
+
+		PMML pmml = encodePMML(mojoModel, options);
+
+		// H2O options do not leak into XGBoost options of the same name
+		options = Collections.singletonMap(HasH2OOptions.OPTION_COMPACT, Boolean.FALSE);
+
+		assertEquals(serialize(pmml), serialize(encodePMML(mojoModel, options)));
+
+		// Namespaced XGBoost options override the default XGBoost options
+		options = Collections.singletonMap(HasH2OOptions.OPTION_XGBOOST_PREFIX + HasXGBoostOptions.OPTION_COMPACT, Boolean.FALSE);
+
+		assertNotEquals(serialize(pmml), serialize(encodePMML(mojoModel, options)));
+
+		options = Collections.singletonMap(HasH2OOptions.OPTION_XGBOOST_PREFIX + HasXGBoostOptions.OPTION_NTREE_LIMIT, 1);
+
+		int treeCount = countTreeModels(pmml);
+		int limitedTreeCount = countTreeModels(encodePMML(mojoModel, options));
+
+		assertTrue(limitedTreeCount > 0 && limitedTreeCount < treeCount);
+	}
+
+	static
+	private String encode(MojoModel mojoModel) throws Exception {
+		return serialize(encodePMML(mojoModel, Collections.emptyMap()));
+	}
+
+	static
+	private PMML encodePMML(MojoModel mojoModel, Map<String, ?> options) throws Exception {
+		ConverterFactory converterFactory = ConverterFactory.newConverterFactory(options);
+
+		Converter<?> converter = converterFactory.newConverter(mojoModel);
+
+		return converter.encodePMML();
+	}
+
+	static
+	private String serialize(PMML pmml) throws Exception {
+		JAXBSerializer jaxbSerializer = new MetroJAXBSerializer();
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		jaxbSerializer.serializePretty(pmml, os);
+
+		return os.toString("UTF-8");
+	}
+
+	static
+	private int countTreeModels(PMML pmml){
+		int[] count = {0};
+
+		AbstractVisitor visitor = new AbstractVisitor(){
+
+			@Override
+			public VisitorAction visit(TreeModel treeModel){
+				count[0]++;
+
+				return super.visit(treeModel);
+			}
+		};
+		visitor.applyTo(pmml);
+
+		return count[0];
+	}
 }
\ No newline at end of file